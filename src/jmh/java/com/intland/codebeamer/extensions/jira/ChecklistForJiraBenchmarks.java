@@ -0,0 +1,411 @@
+/**
+ * Copyright 2021 Intland Software GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.intland.codebeamer.extensions.jira;
+
+import static com.intland.codebeamer.controller.AbstractJsonController.jsonMapper;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CB_2_CHECKLIST_CACHE;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CHECKLIST_2_CB_CACHE;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.CHECKED;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.intland.codebeamer.controller.jira.JiraTrackerSyncConfig;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.Change;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.Checklist;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin;
+
+
+/**
+ * JMH benchmarks for the {@link ChecklistForJiraMarkup} conversion, and the {@link ChecklistForJiraField} import, export and history parsing.
+ * <p>Run via <code>gradlew jmh</code>, which also reports the allocation rate via the GC profiler.
+ * To run only some benchmarks, or with other parameters, use e.g. <code>gradlew jmh -PjmhArgs="ChecklistForJiraBenchmarks.jira2cb -p items=100"</code></p>
+ * @author <a href="mailto:Klaus.Mehling@intland.com">Klaus Mehling</a>
+ * @since Dorothy
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecklistForJiraBenchmarks {
+
+	/**
+	 * Create a synthetic corpus for the benchmarks
+	 * @param markup is the markup density: <code>heavy</code> for only texts with markup, otherwise only plain text
+	 * @return a synthetic corpus with a fixed seed
+	 */
+	public static ChecklistForJiraCorpus createCorpus(String markup) {
+		return new ChecklistForJiraCorpus(4711L).setMarkupRatio("heavy".equals(markup) ? 1.0 : 0.0);
+	}
+
+	/**
+	 * Distinct texts to convert, so that the benchmark does not only measure the conversion cache
+	 */
+	@State(Scope.Benchmark)
+	public static class MarkupState {
+		@Param({"plain", "heavy"})
+		public String markup;
+
+		@Param({"false", "true"})
+		public boolean cached;
+
+		public String[] jira = new String[1024];
+		public String[] cb   = new String[1024];
+		public int      next;
+
+		private int checklist2cbCapacity;
+		private int cb2checklistCapacity;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ChecklistForJiraCorpus corpus = createCorpus(markup);
+			boolean 			   heavy  = "heavy".equals(markup);
+
+			for (int idx = 0; idx < jira.length; ++idx) {
+				jira[idx] = corpus.createText(6, heavy) + ChecklistForJiraField.DESC_SEP + "\n" + corpus.createDescription(heavy);
+				cb[idx]   = ChecklistForJiraMarkup.checklist2cb(jira[idx]);
+			}
+
+			checklist2cbCapacity = CHECKLIST_2_CB_CACHE.getCapacity();
+			cb2checklistCapacity = CB_2_CHECKLIST_CACHE.getCapacity();
+
+			CHECKLIST_2_CB_CACHE.setCapacity(cached ? Math.max(checklist2cbCapacity, jira.length) : 0);
+			CB_2_CHECKLIST_CACHE.setCapacity(cached ? Math.max(cb2checklistCapacity, cb.length) : 0);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			CHECKLIST_2_CB_CACHE.setCapacity(checklist2cbCapacity);
+			CB_2_CHECKLIST_CACHE.setCapacity(cb2checklistCapacity);
+		}
+
+		public int next() {
+			return next = (next + 1) & (jira.length - 1);
+		}
+	}
+
+	/**
+	 * Checklists with a configurable number of items and markup density, in Jira and in codeBeamer format
+	 */
+	@State(Scope.Benchmark)
+	public static class ChecklistState {
+		@Param({"1", "10", "100", "1000", "10000"})
+		public int items;
+
+		@Param({"plain", "heavy"})
+		public String markup;
+
+		public ChecklistForJiraField adapter = new ChecklistForJiraField();
+		public JiraTrackerSyncConfig tracker = new JiraTrackerSyncConfig();
+		public ArrayNode 			 jira;
+		public ArrayNode 			 cb;
+		public String				 json;
+		public String				 wiki;
+		public ArrayNode			 reversed;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ChecklistForJiraFieldNGTests.setupPriorityMapping(tracker);
+
+			jira = createCorpus(markup).setItems(items).createChecklist();
+			cb   = (ArrayNode) adapter.jira2cb(tracker, jira.deepCopy(), null);
+			json = jira.toString();
+			wiki = ChecklistPlugin.wrapChecklist(cb);
+
+			reversed = jsonMapper.createArrayNode();
+			for (int i = cb.size() - 1; i >= 0; --i) {
+				reversed.add(cb.get(i));
+			}
+		}
+	}
+
+	/**
+	 * A batch of issue checklists with a configurable number of issues, to compare sequential and parallel import
+	 */
+	@State(Scope.Benchmark)
+	public static class BatchState {
+		@Param({"16", "256"})
+		public int issues;
+
+		@Param({"100"})
+		public int items;
+
+		public ChecklistForJiraField adapter = new ChecklistForJiraField();
+		public JiraTrackerSyncConfig tracker = new JiraTrackerSyncConfig();
+		public List<JsonNode>		 jira    = new ArrayList<JsonNode>();
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ChecklistForJiraFieldNGTests.setupPriorityMapping(tracker);
+
+			ChecklistForJiraCorpus corpus = createCorpus("heavy").setMarkupRatio(0.5).setItems(items);
+			for (int i = 0; i < issues; ++i) {
+				jira.add(corpus.createChecklist());
+			}
+		}
+
+		public List<JsonNode> copy() {
+			List<JsonNode> result = new ArrayList<JsonNode>(jira.size());
+			for (JsonNode checklist : jira) {
+				result.add(checklist.deepCopy());
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Checklist change histories with a configurable number of changed items and markup density
+	 */
+	@State(Scope.Benchmark)
+	public static class HistoryState {
+		@Param({"1", "10", "100", "1000"})
+		public int lines;
+
+		@Param({"plain", "heavy"})
+		public String markup;
+
+		public ChecklistForJiraField adapter = new ChecklistForJiraField();
+		public String                history;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			history = createCorpus(markup).createChange(lines);
+		}
+	}
+
+	/**
+	 * Checklists with a configurable number of items and history entries, where each entry modifies a single item
+	 */
+	@State(Scope.Benchmark)
+	public static class ReplayState {
+		@Param({"20", "200"})
+		public int items;
+
+		@Param({"100", "500"})
+		public int entries;
+
+		public ArrayNode cb;
+		public String[]  names;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Random random = new Random(4711);
+
+			cb	  = jsonMapper.createArrayNode();
+			names = new String[entries];
+
+			for (int i = 0; i < items; ++i) {
+				cb.addObject().put(NAME, "Item " + i).put(CHECKED, false);
+			}
+
+			for (int i = 0; i < entries; ++i) {
+				names[i] = "Item " + random.nextInt(items);
+			}
+		}
+	}
+
+	@Benchmark
+	public String checklist2cb(MarkupState state) {
+		return ChecklistForJiraMarkup.checklist2cb(state.jira[state.next()]);
+	}
+
+	@Benchmark
+	public String cb2checklist(MarkupState state) {
+		return ChecklistForJiraMarkup.cb2checklist(state.cb[state.next()]);
+	}
+
+	/**
+	 * The position of a thread in the {@link MarkupState} texts, so that parallel threads do not contend on a shared position
+	 */
+	@State(Scope.Thread)
+	public static class MarkupCursor {
+		public int next;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			next = (int) Thread.currentThread().getId();
+		}
+
+		public int next(MarkupState state) {
+			return next = (next + 1) & (state.jira.length - 1);
+		}
+	}
+
+	/**
+	 * {@link #checklist2cb(MarkupState)} by 4 threads at once, to measure the contention on the conversion cache
+	 */
+	@Benchmark
+	@Threads(4)
+	public String checklist2cbParallel(MarkupState state, MarkupCursor cursor) {
+		return ChecklistForJiraMarkup.checklist2cb(state.jira[cursor.next(state)]);
+	}
+
+	/**
+	 * {@link ChecklistForJiraField#jira2cb(JiraTrackerSyncConfig, JsonNode, com.intland.codebeamer.controller.jira.JiraImportController)} converts in place,
+	 * so each invocation has to convert a copy, and {@link #copyChecklist(ChecklistState)} is the baseline
+	 */
+	@Benchmark
+	public JsonNode jira2cb(ChecklistState state) {
+		return state.adapter.jira2cb(state.tracker, state.jira.deepCopy(), null);
+	}
+
+	/**
+	 * {@link ChecklistForJiraField#cb2jira(JiraTrackerSyncConfig, JsonNode)} converts in place,
+	 * so each invocation has to convert a copy, and {@link #copyChecklist(ChecklistState)} is the baseline
+	 */
+	@Benchmark
+	public JsonNode cb2jira(ChecklistState state) {
+		return state.adapter.cb2jira(state.tracker, state.cb.deepCopy());
+	}
+
+	@Benchmark
+	public void copyChecklist(ChecklistState state, Blackhole blackhole) {
+		blackhole.consume(state.jira.deepCopy());
+		blackhole.consume(state.cb.deepCopy());
+	}
+
+	/**
+	 * Apply the reverse order to a copy of the checklist, with {@link #copyChecklist(ChecklistState)} as the baseline
+	 */
+	@Benchmark
+	public ArrayNode applyOrder(ChecklistState state) {
+		return new Checklist(state.cb.deepCopy()).applyOrder(state.reversed).getItems();
+	}
+
+	@Benchmark
+	public String importChecklist(ChecklistState state) {
+		return state.adapter.importChecklist(state.tracker, state.jira.deepCopy(), null);
+	}
+
+	/**
+	 * Parse the checklist from JSON and import it via the tree, to compare with {@link #importChecklistStreaming(ChecklistState)}
+	 */
+	@Benchmark
+	public String importChecklistTree(ChecklistState state) throws IOException {
+		return state.adapter.importChecklist(state.tracker, jsonMapper.readTree(state.json), null);
+	}
+
+	@Benchmark
+	public String importChecklistStreaming(ChecklistState state) throws IOException {
+		try (JsonParser parser = jsonMapper.getFactory().createParser(state.json)) {
+			return state.adapter.importChecklist(state.tracker, parser, null);
+		}
+	}
+
+	@Benchmark
+	public String exportChecklist(ChecklistState state) throws IOException {
+		return jsonMapper.writeValueAsString(state.adapter.exportChecklist(state.tracker, state.wiki));
+	}
+
+	@Benchmark
+	public String exportChecklistStreaming(ChecklistState state) throws IOException {
+		StringWriter exported = new StringWriter(state.wiki.length());
+
+		try (JsonGenerator jira = jsonMapper.getFactory().createGenerator(exported)) {
+			state.adapter.exportChecklist(state.tracker, state.wiki, jira);
+		}
+
+		return exported.toString();
+	}
+
+	@Benchmark
+	public void importChecklistsSequential(BatchState state, Blackhole blackhole) {
+		for (JsonNode checklist : state.copy()) {
+			blackhole.consume(state.adapter.importChecklist(state.tracker, checklist, null));
+		}
+	}
+
+	@Benchmark
+	public List<String> importChecklistsParallel(BatchState state) {
+		return state.adapter.importChecklists(state.tracker, state.copy(), null);
+	}
+
+	@Benchmark
+	public Map<Integer,Change> getItemChanges(HistoryState state) {
+		return state.adapter.getItemChanges(state.history, null);
+	}
+
+	/**
+	 * Replay the history with a deep copy of the checklist per entry, to compare with {@link #replaySnapshots(ReplayState)}
+	 */
+	@Benchmark
+	public ArrayNode replayCopies(ReplayState state) {
+		ArrayNode current = state.cb;
+
+		for (int i = 0; i < state.entries; ++i) {
+			Checklist modified = new Checklist(current.deepCopy());
+			modified.getItem(state.names[i]).put(CHECKED, (i & 1) == 0);
+			current = modified.getItems();
+		}
+
+		return current;
+	}
+
+	@Benchmark
+	public ArrayNode replaySnapshots(ReplayState state) {
+		ArrayNode current = state.cb;
+
+		for (int i = 0; i < state.entries; ++i) {
+			Checklist modified = Checklist.snapshot(current);
+			modified.getItem(state.names[i]).put(CHECKED, (i & 1) == 0);
+			current = modified.getItems();
+		}
+
+		return current;
+	}
+
+}
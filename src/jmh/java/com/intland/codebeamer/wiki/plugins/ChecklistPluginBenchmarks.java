@@ -0,0 +1,94 @@
+/**
+ * Copyright 2021 Intland Software GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.intland.codebeamer.wiki.plugins;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.intland.codebeamer.controller.jira.JiraTrackerSyncConfig;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraBenchmarks;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraFieldNGTests;
+
+
+/**
+ * JMH benchmarks for rendering a {@link ChecklistPlugin} body.
+ * <p>Run via <code>gradlew jmh -PjmhArgs="ChecklistPluginBenchmarks"</code></p>
+ * @author <a href="mailto:Klaus.Mehling@intland.com">Klaus Mehling</a>
+ * @since Dorothy
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChecklistPluginBenchmarks {
+
+	@Param({"1", "10", "100", "1000", "10000"})
+	public int items;
+
+	@Param({"plain", "heavy"})
+	public String markup;
+
+	private String checklist;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		JiraTrackerSyncConfig tracker = ChecklistForJiraFieldNGTests.setupPriorityMapping(new JiraTrackerSyncConfig());
+		ArrayNode 			  jira 	  = ChecklistForJiraBenchmarks.createCorpus(markup).setItems(items).createChecklist();
+
+		checklist = ChecklistPlugin.wrapChecklist(new ChecklistForJiraField().jira2cb(tracker, jira, null));
+	}
+
+	/**
+	 * Unwrap and prepare the stored checklist for rendering, like {@link ChecklistPlugin#execute(com.ecyrd.jspwiki.WikiContext, Map)}
+	 */
+	@Benchmark
+	public List<Map<String,Object>> prepareChecklist() {
+		return ChecklistPlugin.prepareChecklist(ChecklistPlugin.unwrapChecklist(checklist));
+	}
+
+}
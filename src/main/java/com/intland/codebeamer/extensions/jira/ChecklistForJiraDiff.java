@@ -0,0 +1,463 @@
+/**
+ * Copyright 2021 Intland Software GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.intland.codebeamer.extensions.jira;
+
+import static com.intland.codebeamer.controller.AbstractJsonController.getInteger;
+import static com.intland.codebeamer.controller.AbstractJsonController.getString;
+import static com.intland.codebeamer.controller.AbstractJsonController.jsonMapper;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.GLOBAL_ID;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.RANK;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+
+/**
+ * An item level comparison of two <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
+ * checklists, e.g. of the last exported checklist and the current checklist.
+ * <p>Items are matched by their {@link ChecklistForJiraField#GLOBAL_ID}, or by their name, if they have no global ID.
+ * The result is a compact change set of {@link Kind#ADDED added}, {@link Kind#REMOVED removed}, {@link Kind#MODIFIED modified} and {@link Kind#REORDERED reordered} items,
+ * with the hashes of the old and new item state, that allow partial updates and conflict detection.</p>
+ * @author <a href="mailto:Klaus.Mehling@intland.com">Klaus Mehling</a>
+ * @since Dorothy
+ */
+public class ChecklistForJiraDiff {
+	public static final String OP 		= "op";
+	public static final String KEY 		= "key";
+	public static final String INDEX 	= "index";
+	public static final String OLD_HASH = "oldHash";
+	public static final String NEW_HASH = "newHash";
+	public static final String ITEM 	= "item";
+
+	/**
+	 * The kinds of item changes
+	 */
+	public static enum Kind {
+		ADDED, REMOVED, MODIFIED, REORDERED;
+
+		private final String op = name().toLowerCase();
+
+		/**
+		 * @return the name of this change kind in a JSON change set
+		 */
+		public String getOp() {
+			return op;
+		}
+
+		/**
+		 * Get the change kind with the specified name in a JSON change set
+		 * @param op is the name of the change kind
+		 * @return the change kind with this name, or null, if there is no such change kind
+		 */
+		public static Kind of(String op) {
+			for (Kind kind : values()) {
+				if (kind.op.equals(op)) {
+					return kind;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A single change of a checklist item
+	 */
+	public static class ItemChange {
+		private final Kind	   kind;
+		private final String   key;
+		private final int	   index;
+		private final long	   oldHash;
+		private final long	   newHash;
+		private final JsonNode item;
+
+		public ItemChange(Kind kind, String key, int index, long oldHash, long newHash, JsonNode item) {
+			this.kind	 = kind;
+			this.key	 = key;
+			this.index	 = index;
+			this.oldHash = oldHash;
+			this.newHash = newHash;
+			this.item	 = item;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * @return the key of the changed item, see {@link ChecklistForJiraDiff#getKeys(JsonNode)}
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * @return the new position of an added, modified or reordered item, or the old position of a removed item
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the {@link ChecklistForJiraDiff#hash(JsonNode)} of the old item state, or 0, if the item was added
+		 */
+		public long getOldHash() {
+			return oldHash;
+		}
+
+		/**
+		 * @return the {@link ChecklistForJiraDiff#hash(JsonNode)} of the new item state, or 0, if the item was removed
+		 */
+		public long getNewHash() {
+			return newHash;
+		}
+
+		/**
+		 * @return the new state of an added or modified item, otherwise null
+		 */
+		public JsonNode getItem() {
+			return item;
+		}
+
+		/**
+		 * @return this item change as a JSON object
+		 */
+		public ObjectNode toJson() {
+			ObjectNode result = jsonMapper.createObjectNode();
+			result.put(OP,  kind.getOp());
+			result.put(KEY, key);
+
+			if (kind != Kind.REMOVED) {
+				result.put(INDEX, index);
+			}
+			if (kind == Kind.REMOVED || kind == Kind.MODIFIED) {
+				result.put(OLD_HASH, oldHash);
+			}
+			if (kind == Kind.ADDED || kind == Kind.MODIFIED) {
+				result.put(NEW_HASH, newHash);
+				result.set(ITEM, item);
+			}
+
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return kind.getOp() + " " + key + " @" + index;
+		}
+	}
+
+	private final List<ItemChange> changes;
+
+	protected ChecklistForJiraDiff(List<ItemChange> changes) {
+		this.changes = Collections.unmodifiableList(changes);
+	}
+
+	/**
+	 * @return all item changes: removed items first, then added, modified and reordered items in the order of the new checklist
+	 */
+	public List<ItemChange> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * Get the item changes of the specified kind
+	 * @param kind is the kind of item changes to get
+	 * @return the item changes of this kind
+	 */
+	public List<ItemChange> getChanges(Kind kind) {
+		List<ItemChange> result = new ArrayList<ItemChange>();
+
+		for (ItemChange change : changes) {
+			if (change.getKind() == kind) {
+				result.add(change);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return true if the compared checklists contain the same items in the same order, otherwise false
+	 */
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * @return the item changes as a JSON array, see {@link ItemChange#toJson()}
+	 */
+	public ArrayNode toJson() {
+		ArrayNode result = jsonMapper.createArrayNode();
+
+		for (ItemChange change : changes) {
+			result.add(change.toJson());
+		}
+
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return changes.toString();
+	}
+
+	/**
+	 * Compute the hash of the specified checklist item, that does not depend on the item {@link ChecklistForJiraField#RANK}
+	 * @param item is the checklist item
+	 * @return the 64-bit hash of the checklist item
+	 */
+	public static long hash(JsonNode item) {
+		return ChecklistForJiraField.fingerprint(item, RANK);
+	}
+
+	/**
+	 * Get the keys of the specified checklist items.<br/>
+	 * The key of an item with a {@link ChecklistForJiraField#GLOBAL_ID} is based on that ID, otherwise on the item name,
+	 * where repeated keys are distinguished by their occurrence.
+	 * @param checklist is the JSON array of checklist items
+	 * @return the keys of the checklist items in checklist order, or null for items, that are not objects
+	 */
+	public static String[] getKeys(JsonNode checklist) {
+		String[] result = new String[checklist != null && checklist.isArray() ? checklist.size() : 0];
+
+		if (result.length > 0) {
+			Map<String,Integer> occurrences = new HashMap<String,Integer>();
+
+			for (int i = 0; i < result.length; ++i) {
+				JsonNode item = checklist.get(i);
+				if (item != null && item.isObject()) {
+					Integer globalId   = getInteger(item, GLOBAL_ID);
+					String	key 	   = (globalId != null ? GLOBAL_ID + '=' + globalId : NAME + '=' + getString(item, NAME));
+					Integer occurrence = occurrences.merge(key, Integer.valueOf(1), Integer::sum);
+
+					result[i] = (occurrence.intValue() > 1 ? key + '\u0000' + occurrence : key);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private static Map<String,Integer> getPositions(String[] keys) {
+		Map<String,Integer> result = new LinkedHashMap<String,Integer>(keys.length * 2);
+
+		for (int i = 0; i < keys.length; ++i) {
+			if (keys[i] != null) {
+				result.putIfAbsent(keys[i], Integer.valueOf(i));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Get the positions of the longest increasing subsequence of the specified values
+	 * @param values are the values
+	 * @return a flag for each value, whether the value is part of the longest increasing subsequence
+	 */
+	private static boolean[] getLongestIncreasing(int[] values) {
+		int[] tails 	   = new int[values.length];
+		int[] predecessors = new int[values.length];
+		int	  length	   = 0;
+
+		for (int i = 0; i < values.length; ++i) {
+			int low = 0, high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[tails[mid]] < values[i]) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+
+			predecessors[i] = (low > 0 ? tails[low - 1] : -1);
+			tails[low] = i;
+
+			if (low == length) {
+				length++;
+			}
+		}
+
+		boolean[] result = new boolean[values.length];
+		for (int i = (length > 0 ? tails[length - 1] : -1); i >= 0; i = predecessors[i]) {
+			result[i] = true;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Compare the specified checklists item by item
+	 * @param previous is the JSON array of previous checklist items, e.g. as exported on the last synchronization, or null
+	 * @param current is the JSON array of current checklist items, or null
+	 * @return the item changes, that are necessary to turn the previous checklist into the current checklist
+	 */
+	public static ChecklistForJiraDiff compare(JsonNode previous, JsonNode current) {
+		List<ItemChange>	changes 	= new ArrayList<ItemChange>();
+		String[]			oldKeys 	= getKeys(previous);
+		String[]			newKeys 	= getKeys(current);
+		Map<String,Integer> oldPosition = getPositions(oldKeys);
+		Map<String,Integer> newPosition = getPositions(newKeys);
+
+		for (Map.Entry<String,Integer> entry : oldPosition.entrySet()) {
+			if (!newPosition.containsKey(entry.getKey())) {
+				int index = entry.getValue().intValue();
+				changes.add(new ItemChange(Kind.REMOVED, entry.getKey(), index, hash(previous.get(index)), 0L, null));
+			}
+		}
+
+		// The old positions of the retained items, in new order
+		int[] retained = new int[newPosition.size()];
+		int	  count    = 0;
+
+		for (Map.Entry<String,Integer> entry : newPosition.entrySet()) {
+			Integer oldIndex = oldPosition.get(entry.getKey());
+			if (oldIndex != null) {
+				retained[count++] = oldIndex.intValue();
+			}
+		}
+
+		boolean[] inOrder = getLongestIncreasing(Arrays.copyOf(retained, count));
+
+		count = 0;
+
+		for (Map.Entry<String,Integer> entry : newPosition.entrySet()) {
+			int		 index	  = entry.getValue().intValue();
+			JsonNode item	  = current.get(index);
+			long	 newHash  = hash(item);
+			Integer  oldIndex = oldPosition.get(entry.getKey());
+
+			if (oldIndex == null) {
+				changes.add(new ItemChange(Kind.ADDED, entry.getKey(), index, 0L, newHash, item));
+			} else {
+				long oldHash = hash(previous.get(oldIndex.intValue()));
+				if (oldHash != newHash) {
+					changes.add(new ItemChange(Kind.MODIFIED, entry.getKey(), index, oldHash, newHash, item));
+				}
+				if (!inOrder[count++]) {
+					changes.add(new ItemChange(Kind.REORDERED, entry.getKey(), index, oldHash, newHash, null));
+				}
+			}
+		}
+
+		return new ChecklistForJiraDiff(changes);
+	}
+
+	/**
+	 * Apply the specified JSON change set, see {@link #toJson()}, to the specified checklist, e.g. at a Jira checklist endpoint, that supports partial updates
+	 * @param checklist is the JSON array of checklist items to apply the changes to, or null
+	 * @param changeSet is the JSON array of item changes to apply
+	 * @return a new JSON array of checklist items with the applied changes
+	 * @throws IllegalStateException if the change set conflicts with the checklist, e.g. because a removed or modified item does not exist or has a different hash, or an added item already exists
+	 */
+	public static ArrayNode apply(JsonNode checklist, JsonNode changeSet) throws IllegalStateException {
+		String[]			keys	  = getKeys(checklist);
+		Map<String,Integer> positions = getPositions(keys);
+		JsonNode[]			items	  = new JsonNode[keys.length];
+		List<ItemChange>	inserts   = new ArrayList<ItemChange>();
+
+		for (int i = 0; i < keys.length; ++i) {
+			items[i] = checklist.get(i);
+		}
+
+		if (changeSet != null && changeSet.isArray()) {
+			Map<String,JsonNode> added = new HashMap<String,JsonNode>();
+
+			for (JsonNode change : changeSet) {
+				Kind	 kind	  = Kind.of(getString(change, OP));
+				String	 key 	  = getString(change, KEY);
+				Integer	 position = (key != null ? positions.get(key) : null);
+				Integer	 index	  = getInteger(change, INDEX);
+				JsonNode oldHash  = change.get(OLD_HASH);
+
+				if (kind == null || key == null) {
+					throw new IllegalStateException("Invalid item change: " + change);
+				} else if (kind == Kind.ADDED) {
+					if (position != null || added.put(key, change.get(ITEM)) != null) {
+						throw new IllegalStateException("Added item already exists: " + key);
+					}
+				} else if (position == null || items[position.intValue()] == null) {
+					throw new IllegalStateException("No such item: " + key);
+				} else if (oldHash != null && oldHash.asLong() != hash(items[position.intValue()])) {
+					throw new IllegalStateException("Item was modified concurrently: " + key);
+				} else if (kind == Kind.REMOVED) {
+					items[position.intValue()] = null;
+				} else if (kind == Kind.MODIFIED) {
+					items[position.intValue()] = change.get(ITEM);
+				}
+
+				if (kind == Kind.ADDED || kind == Kind.REORDERED) {
+					if (index == null) {
+						throw new IllegalStateException("Missing index of item change: " + change);
+					}
+
+					inserts.add(new ItemChange(kind, key, index.intValue(), 0L, 0L, position != null ? null : change.get(ITEM)));
+				}
+			}
+		}
+
+		// Moved items are taken out, and re-inserted at their new position, together with the added items
+		for (int i = 0; i < inserts.size(); ++i) {
+			ItemChange insert = inserts.get(i);
+			if (insert.getKind() == Kind.REORDERED) {
+				int position = positions.get(insert.getKey()).intValue();
+				inserts.set(i, new ItemChange(Kind.REORDERED, insert.getKey(), insert.getIndex(), 0L, 0L, items[position]));
+				items[position] = null;
+			}
+		}
+
+		List<JsonNode> result = new ArrayList<JsonNode>(items.length + inserts.size());
+		for (JsonNode item : items) {
+			if (item != null) {
+				result.add(item);
+			}
+		}
+
+		inserts.sort((x, y) -> Integer.compare(x.getIndex(), y.getIndex()));
+
+		for (ItemChange insert : inserts) {
+			result.add(Math.min(Math.max(insert.getIndex(), 0), result.size()), insert.getItem());
+		}
+
+		return jsonMapper.createArrayNode().addAll(result);
+	}
+
+}
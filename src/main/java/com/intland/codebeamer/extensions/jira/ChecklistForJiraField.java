@@ -36,44 +36,72 @@ import static com.intland.codebeamer.controller.jira.JiraRestClient.encodeDate;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.DESCRIPTION;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.ID;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
-import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.STYLE;
 import static com.intland.codebeamer.persistence.util.TrackerItemFieldHandler.PRIORITY_LABEL_ID;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.CHECKED;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.END_DATE;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.HEADER;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.MANDATORY;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PLUGIN_FOOTER;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PINNED;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PRIORITIES;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PRIORITY;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUS;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUSES;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUS_NAME;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getBodyFormat;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getFormat;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.decodeIsoDate;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.encodeIsoDate;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.openChecklist;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.unwrapChecklist;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.wrapChecklist;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TimeZone;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.intland.codebeamer.CalendarUtils;
@@ -92,6 +120,10 @@ import com.intland.codebeamer.persistence.dto.TrackerItemDto;
 import com.intland.codebeamer.persistence.dto.TrackerLayoutLabelDto;
 import com.intland.codebeamer.persistence.dto.base.NamedDto;
 import com.intland.codebeamer.wiki.plugins.ChecklistPlugin;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.DateConverter;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.Format;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.LazyChecklist;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.Status;
 
 
 /**
@@ -117,36 +149,182 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	public static final String NONE 	 	= "none";
 	public static final String DESC_SEP  	= "\n>>";
 
+	/**
+	 * The converter for Jira checklist item date strings, e.g. {@link #DUE_DATE}, via the JiraRestClient <code>decodeDate</code> and <code>encodeDate</code>,
+	 * that convert dates in the default time zone
+	 */
+	public static final DateConverter JIRA_DATES = new DateConverter(4096, DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxx", Locale.ENGLISH)) {
+		@Override
+		protected ZoneId getZone() {
+			return TimeZone.getDefault().toZoneId();
+		}
+
+		@Override
+		protected Date parse(String text) throws ParseException {
+			return decodeDate(text);
+		}
+
+		@Override
+		protected String format(Date date) {
+			return encodeDate(date);
+		}
+	};
+
 	/**
 	 * Get the {@link ChecklistPlugin} configuration, for a status with the specified name and style
 	 * @param name of the status
 	 * @param style of status
-	 * @return the {@link ChecklistPlugin} configuration, for a status with the specified name and style
+	 * @return the shared {@link ChecklistPlugin} configuration, for a status with the specified name and style, that must not be modified
 	 */
 	public static JsonNode getStatus(String name, String style) {
-		if (StringUtils.isNotBlank(name)) {
-			if (StringUtils.isNotBlank(style)) {
-				return jsonMapper.createObjectNode().put(NAME, name).put(STYLE, style);
-			}
-
-			return TextNode.valueOf(name);
-		}
-
-		return null;
+		Status status = STATUSES.get(name, style);
+		return status != null ? status.getNode() : null;
 	}
 
 	/**
 	 * Find a predefined checklist item status by id(style) or name
 	 * @param idOrName of the status
-	 * @return the predefined checklist item status, or null
+	 * @return the shared checklist item status, that must not be modified, or null
 	 */
 	public static JsonNode getChecklistStatus(String idOrName) {
-		TrackerChoiceOptionDto status = ChecklistPlugin.getStatus(idOrName);
-		if (status != null) {
-			return getStatus(status.getName(), status.getStyle());
+		Status status = ChecklistPlugin.getCanonicalStatus(idOrName);
+		return status != null ? status.getNode() : null;
+	}
+
+	/**
+	 * The translation table between the JIRA project priorities and the codeBeamer priorities of a tracker.<br/>
+	 * A table is built once per tracker via {@link #of(JiraTrackerSyncConfig)}, and shared by all conversions of the sync run and the following runs,
+	 * until the {@link ChecklistForJiraField#fingerprint(JiraTrackerSyncConfig) fingerprint} of the tracker configuration changes.
+	 * <p>It holds a shared JsonNode for each mapped JIRA priority id or name, and memorizes the JIRA priority id for each exported codeBeamer priority id,
+	 * so translating a priority costs a single hash lookup. A table can be shared by the threads of a run.</p>
+	 */
+	public static class PriorityTable {
+		private static final Integer UNMAPPED = Integer.valueOf(Integer.MIN_VALUE);
+
+		/** The table per tracker id, for the tracker configuration with the fingerprint of the table */
+		private static final ConcurrentMap<Integer,PriorityTable> TABLES = new ConcurrentHashMap<Integer,PriorityTable>();
+
+		private final JiraTrackerSyncConfig tracker;
+		private final long					fingerprint;
+		private final Map<Object,JsonNode> 	priorities  = new HashMap<Object,JsonNode>();
+		private final Map<Integer,Integer> 	jiraPrioIds = new ConcurrentHashMap<Integer,Integer>();
+
+		/**
+		 * Get the priority translation table for the current priority mapping of the specified tracker.
+		 * The table is only built again, if the tracker configuration was replaced, or its {@link ChecklistForJiraField#fingerprint(JiraTrackerSyncConfig) fingerprint} changed.
+		 * @param tracker is the tracker configuration, where JIRA project priorities are mapped to codeBeamer priorities, or null
+		 * @return the priority translation table for the current priority mapping of the tracker
+		 */
+		public static PriorityTable of(JiraTrackerSyncConfig tracker) {
+			if (tracker == null || tracker.getId() == null) {
+				return new PriorityTable(tracker);
+			}
+
+			long 		  fingerprint = fingerprint(tracker);
+			PriorityTable table 	  = TABLES.get(tracker.getId());
+
+			if (table == null || table.tracker != tracker || table.fingerprint != fingerprint) {
+				TABLES.put(tracker.getId(), table = new PriorityTable(tracker, fingerprint));
+			}
+
+			return table;
 		}
 
-		return null;
+		/**
+		 * Create a new priority translation table for the current priority mapping of the specified tracker
+		 * @param tracker is the tracker configuration, where JIRA project priorities are mapped to codeBeamer priorities, or null
+		 */
+		public PriorityTable(JiraTrackerSyncConfig tracker) {
+			this(tracker, fingerprint(tracker));
+		}
+
+		private PriorityTable(JiraTrackerSyncConfig tracker, long fingerprint) {
+			this.tracker 	 = tracker;
+			this.fingerprint = fingerprint;
+
+			Map<Object,TrackerChoiceOptionDto> mapping = (tracker != null ? tracker.getChoiceValueMapping(PRIORITY_LABEL_ID) : null);
+			if (mapping != null) {
+				Map<TrackerChoiceOptionDto,JsonNode> nodes = new IdentityHashMap<TrackerChoiceOptionDto,JsonNode>();
+
+				for (Map.Entry<Object,TrackerChoiceOptionDto> entry : mapping.entrySet()) {
+					TrackerChoiceOptionDto priority = entry.getValue();
+					if (priority != null && priority.getId() != null) {
+						JsonNode priorityNode = nodes.get(priority);
+						if (priorityNode == null) {
+							nodes.put(priority, priorityNode = createPriorityNode(priority));
+						}
+
+						priorities.put(entry.getKey(), priorityNode);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Create the JsonNode representing the specified codeBeamer priority
+		 * @param priority is the codeBeamer priority, that must have an id
+		 * @return an object with the id, name and description of the priority, or only the id, if the priority has no name
+		 */
+		protected static JsonNode createPriorityNode(TrackerChoiceOptionDto priority) {
+			if (priority.getName() != null) {
+				ObjectNode priorityNode = jsonMapper.createObjectNode();
+
+				priorityNode.set(ID,   IntNode.valueOf(priority.getId().intValue()));
+				priorityNode.set(NAME, TextNode.valueOf(priority.getName()));
+
+				if (priority.getDescription() != null) {
+					priorityNode.set(DESCRIPTION, TextNode.valueOf(priority.getDescription()));
+				}
+
+				return priorityNode;
+			}
+
+			return IntNode.valueOf(priority.getId().intValue());
+		}
+
+		/**
+		 * Get the codeBeamer priority, that is mapped to the specified JIRA project priority
+		 * @param idOrName is a JIRA priority id or name
+		 * @return the shared JsonNode representing the CB priority, that can be added to checklist items, but must not be modified, or null, if there is no such CB priority
+		 */
+		public JsonNode getPriority(Object idOrName) {
+			return idOrName != null ? priorities.get(idOrName) : null;
+		}
+
+		/**
+		 * Get the JIRA priority ID mapped to the specified codeBeamer priority id
+		 * @param id is the codeBeamer priority id
+		 * @return the JIRA priority ID mapped to the specified codeBeamer priority id, or null, if there is no appropriate JIRA priority id
+		 */
+		public Integer getJiraPriorityId(Integer id) {
+			if (tracker == null) {
+				return null;
+			} else if (id == null) {
+				TrackerChoiceOptionDto jiraPrio = tracker.getExportOption(PRIORITY_LABEL_ID, id);
+				return jiraPrio != null ? jiraPrio.getId() : null;
+			}
+
+			Integer result = jiraPrioIds.get(id);
+			if (result == null) {
+				TrackerChoiceOptionDto jiraPrio = tracker.getExportOption(PRIORITY_LABEL_ID, id);
+				if (jiraPrio == null || (result = jiraPrio.getId()) == null) {
+					result = UNMAPPED;
+				}
+
+				jiraPrioIds.put(id, result);
+			}
+
+			return result != UNMAPPED ? result : null;
+		}
+
+		/**
+		 * Get the JIRA priority ID mapped to the specified codeBeamer priority
+		 * @param priority is the codeBeamer priority
+		 * @return the JIRA priority ID mapped to the specified codeBeamer priority, or null, if there is no appropriate JIRA priority id
+		 */
+		public Integer getJiraPriorityId(JsonNode priority) {
+			return tracker != null && priority != null ? getJiraPriorityId(getPriorityId(priority)) : null;
+		}
 	}
 
 	/**
@@ -154,6 +332,7 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	 * @param tracker is the tracker configuration, where JIRA project priorities are mapped to codeBeamer priorities
 	 * @param idOrName is a JIRA priority id orname
 	 * @return a JsonNode representing the CB priority, or null, if there is no such CB priority
+	 * @see PriorityTable#getPriority(Object)
 	 */
 	public static JsonNode getPriority(JiraTrackerSyncConfig tracker, Object idOrName) {
 		JsonNode result = null;
@@ -163,20 +342,7 @@ public class ChecklistForJiraField extends AbstractJsonController {
 			if (priorityMapping != null) {
 				TrackerChoiceOptionDto priority = priorityMapping.get(idOrName);
 				if (priority != null && priority.getId() != null) {
-					if (priority.getName() != null) {
-						ObjectNode priorityNode = jsonMapper.createObjectNode();
-
-						priorityNode.set(ID,   IntNode.valueOf(priority.getId().intValue()));
-						priorityNode.set(NAME, TextNode.valueOf(priority.getName()));
-
-						if (priority.getDescription() != null) {
-							priorityNode.set(DESCRIPTION, TextNode.valueOf(priority.getDescription()));
-						}
-
-						result = priorityNode;
-					} else {
-						result = IntNode.valueOf(priority.getId().intValue());
-					}
+					result = PriorityTable.createPriorityNode(priority);
 				}
 			}
 		}
@@ -184,26 +350,36 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		return result;
 	}
 
+	/**
+	 * Get the id of the specified codeBeamer priority
+	 * @param priority is the codeBeamer priority
+	 * @return the id of the codeBeamer priority, or null
+	 */
+	protected static Integer getPriorityId(JsonNode priority) {
+		// We must only call ChecklistPlugin.getPriority(), if there is no priority id, otherwise the id might be truncated!
+		Integer id = getInteger(priority, ID);
+		if (id == null) {
+			NamedDto checklistPrio = ChecklistPlugin.getPriority(priority);
+			if (checklistPrio != null) {
+				id = checklistPrio.getId();
+			}
+		}
+
+		return id;
+	}
+
 	/**
 	 * Get the JIRA priority ID mapped to the specified codeBeamer priority
 	 * @param tracker is the tracker configuration, where JIRA project priorities are mapped to codeBeamer priorities
 	 * @param priority is the codeBeamer priority
 	 * @return the JIRA priority ID mapped to the specified codeBeamer priority, or null, if there is no appropriate JIRA priority id
+	 * @see PriorityTable#getJiraPriorityId(JsonNode)
 	 */
 	public static Integer getJiraPriorityId(JiraTrackerSyncConfig tracker, JsonNode priority) {
 		Integer result = null;
 
 		if (tracker != null && priority != null) {
-			// We must only call ChecklistPlugin.getPriority(), if there is no priority id, otherwise the id might be truncated!
-			Integer id = getInteger(priority, ID);
-			if (id == null) {
-				NamedDto checklistPrio = ChecklistPlugin.getPriority(priority);
-				if (checklistPrio != null) {
-					id = checklistPrio.getId();
-				}
-			}
-
-			TrackerChoiceOptionDto jiraPrio = tracker.getExportOption(PRIORITY_LABEL_ID, id);
+			TrackerChoiceOptionDto jiraPrio = tracker.getExportOption(PRIORITY_LABEL_ID, getPriorityId(priority));
 			if (jiraPrio != null) {
 				result = jiraPrio.getId();
 			}
@@ -216,13 +392,68 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	 * The parsed information about a JIRA checklist item change from a JIRA issue changelog <code>fromString</code> or <code>toString</code>
 	 */
 	public static class Change {
-		private String		name;
-		private String		desc;
-		private String		status;
-		private String		priority;
-		private String		assigneeIds;
-		private Date		dueDate;
-		private Set<String> changed;
+		/**
+		 * The kinds of JIRA checklist item changes, in the order in which they are {@link Change#apply(JiraTrackerSyncConfig, ObjectNode) applied}
+		 */
+		public static enum Kind {
+			ADDED("added"),
+			ASSIGNED("assigned"),
+			CHECKED("checked"),
+			DUE_DATE_CHANGED("due date changed"),
+			HEADER("h"),
+			MANDATORY("mandatory"),
+			MODIFIED("modified"),
+			OPTIONAL("optional"),
+			PRIORITY_CHANGED("priority changed"),
+			REMOVED("removed"),
+			REORDERED("reordered"),
+			STATUS_CHANGED("status changed"),
+			UNASSIGNED("unassigned"),
+			UNCHECKED("unchecked");
+
+			private static final Kind[] KINDS = values();
+
+			private final String token;
+
+			private Kind(String token) {
+				this.token = token;
+			}
+
+			/**
+			 * @return the (lower case) token of this change kind in a JIRA issue changelog
+			 */
+			public String getToken() {
+				return token;
+			}
+
+			/**
+			 * Get the change kind with the specified token
+			 * @param token is the change token from a JIRA issue changelog, in any case
+			 * @return the change kind with this token, or null, if the token is unknown
+			 */
+			public static Kind of(String token) {
+				if (token != null) {
+					for (Kind kind : KINDS) {
+						if (kind.token.equalsIgnoreCase(token)) {
+							return kind;
+						}
+					}
+				}
+				return null;
+			}
+		}
+
+		/** Adding a new item implicitly also sets the status, priority, dueDate and assignees */
+		private static final Set<Kind> ADDED_IMPLIES = Collections.unmodifiableSet(EnumSet.of(Kind.STATUS_CHANGED, Kind.PRIORITY_CHANGED, Kind.DUE_DATE_CHANGED, Kind.ASSIGNED));
+
+		private String		  name;
+		private String		  desc;
+		private String		  status;
+		private String		  priority;
+		private String		  assigneeIds;
+		private Date		  dueDate;
+		private EnumSet<Kind> changed;
+		private List<String>  unknown;
 
 		/** List of different DueDate Formats used in Checklist history */
 		public static final List<FastDateFormat> DUE_DATE_FORMATS = Collections.unmodifiableList(Arrays.asList(
@@ -232,87 +463,183 @@ public class ChecklistForJiraField extends AbstractJsonController {
 			FastDateFormat.getInstance("dd/MM/yyyy",  CalendarUtils.getSystemTimeZone(), Locale.ENGLISH)
 		));
 
+		/** The English 3-letter month names of the {@link #DUE_DATE_FORMATS} */
+		private static final String[] DUE_DATE_MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+		/** The start of the century for 2-digit years of the {@link #DUE_DATE_FORMATS}, that is 80 years ago */
+		private static final int DUE_DATE_CENTURY = Year.now().getValue() - 80;
+
 		/**
 		 * Decode a Checklist history dueDate
+		 * <p>The usual shape, two digits, a slash, a numeric or English 3-letter month, a slash, and a 2- or 4-digit year,
+		 * is recognized and parsed via java.time in {@link #parseDueDate(String)}.
+		 * Other strings are parsed via the {@link #DUE_DATE_FORMATS}, without throwing exceptions.</p>
 		 * @param encoded is the JIRA formatted date/time string
 		 * @return the decoded Date
 		 */
 		public static Date decodeDueDate(String encoded) {
-			if (StringUtils.isNotBlank(encoded)) {
-				for (FastDateFormat format : DUE_DATE_FORMATS) {
-					try {
-						return format.parse(encoded);
-					} catch(ParseException px) {
-						// Ignore
+			Date result = null;
+
+			if (StringUtils.isNotBlank(encoded) && (result = parseDueDate(encoded)) == null) {
+				for (Iterator<FastDateFormat> it = DUE_DATE_FORMATS.iterator(); it.hasNext() && result == null;) {
+					result = it.next().parse(encoded, new ParsePosition(0));
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Parse a Checklist history dueDate with the shape <code>dd/MMM/yy</code>, <code>dd/MM/yy</code>, <code>dd/MMM/yyyy</code> or <code>dd/MM/yyyy</code>,
+		 * with English 3-letter month names (case insensitive), and 2-digit years within 80 years before and 20 years after now,
+		 * into the start of the day in the system time zone, like the {@link #DUE_DATE_FORMATS}
+		 * @param encoded is the JIRA formatted date/time string
+		 * @return the parsed Date, or null, if the string does not have this shape, or is not a valid Gregorian calendar day
+		 */
+		public static Date parseDueDate(String encoded) {
+			int length = encoded.length();
+			int year   = -1;
+			int month  = -1;
+			int day    = -1;
+			int from   = -1;
+
+			if (length >= 8 && length <= 11 && encoded.charAt(2) == '/') {
+				if (encoded.charAt(5) == '/') {
+					month = DateConverter.digits(encoded, 3, 2);
+					from  = 6;
+				} else if (encoded.charAt(6) == '/') {
+					for (int i = 0; i < DUE_DATE_MONTHS.length; ++i) {
+						if (encoded.regionMatches(true, 3, DUE_DATE_MONTHS[i], 0, 3)) {
+							month = i + 1;
+							break;
+						}
 					}
+					from = 7;
 				}
 			}
 
-			return null;
+			int count = length - from;
+			if (from > 0 && (count == 2 || count == 4)) {
+				day  = DateConverter.digits(encoded, 0, 2);
+				year = DateConverter.digits(encoded, from, count);
+
+				if (count == 2 && year >= 0) {
+					int century = DUE_DATE_CENTURY / 100 * 100;
+					year += (year >= DUE_DATE_CENTURY - century ? century : century + 100);
+				}
+			}
+
+			if (year < DateConverter.GREGORIAN_START || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+				return null;
+			}
+
+			return Date.from(LocalDate.of(year, month, day).atStartOfDay(CalendarUtils.getSystemTimeZone().toZoneId()).toInstant());
 		}
 
 		public Change(String spec) {
-			if (spec.startsWith("[")) {
-				int closeIdx = spec.indexOf("]");
-				if (closeIdx > 0) {
-					String changes = spec.substring(1, closeIdx);
-
-					spec = spec.substring(closeIdx + 1).trim();
+			this(spec, 0, spec.length());
+		}
 
-					for (StringTokenizer parser = new StringTokenizer(changes, ","); parser.hasMoreTokens();) {
-						addChanged(StringUtils.trimToNull(parser.nextToken()));
+		/**
+		 * Parse a JIRA checklist item change from the specified range of the specified text, with a cursor over the range,
+		 * that only creates Strings for the parsed components
+		 * @param spec is the text, that contains the checklist item change
+		 * @param from is the start of the checklist item change in the text
+		 * @param to is the end (exclusive) of the checklist item change in the text
+		 */
+		public Change(CharSequence spec, int from, int to) {
+			if (from < to && spec.charAt(from) == '[') {
+				int closeIdx = indexOf(spec, ']', from, to);
+				if (closeIdx >= 0) {
+					for (int token = from + 1, sep; token < closeIdx; token = sep + 1) {
+						if ((sep = indexOf(spec, ',', token, closeIdx)) < 0) {
+							sep = closeIdx;
+						}
+						addChanged(trimToNull(spec, token, sep));
 					}
+
+					to   = trimEnd(spec, closeIdx + 1, to);
+					from = trimStart(spec, closeIdx + 1, to);
 				}
 			}
 
 			// In Checklist V5 and newer, the header option can be specified as a second [H] block
-			if (spec.startsWith("[H]")) {
-				spec = spec.substring(3).trim();
+			if (to - from >= 3 && spec.charAt(from) == '[' && spec.charAt(from + 1) == 'H' && spec.charAt(from + 2) == ']') {
+				to   = trimEnd(spec, from + 3, to);
+				from = trimStart(spec, from + 3, to);
 
 				addChanged("H");
 			}
 
-			if (spec.startsWith("(")) {
-				int closeIdx = spec.indexOf(")");
-				if (closeIdx > 0) {
-					status = checklist2cb(StringUtils.trimToNull(spec.substring(1, closeIdx)));
-					spec = spec.substring(closeIdx + 1).trim();
+			if (from < to && spec.charAt(from) == '(') {
+				int closeIdx = indexOf(spec, ')', from, to);
+				if (closeIdx >= 0) {
+					status = checklist2cb(trimToNull(spec, from + 1, closeIdx));
+					to	   = trimEnd(spec, closeIdx + 1, to);
+					from   = trimStart(spec, closeIdx + 1, to);
 				}
 			}
 
-			if (spec.endsWith("!)")) {
-				int startIdx = spec.lastIndexOf("(");
+			if (to - from >= 2 && spec.charAt(to - 2) == '!' && spec.charAt(to - 1) == ')') {
+				int startIdx = lastIndexOf(spec, '(', from, to);
 				if (startIdx >= 0) {
-					priority = StringUtils.trimToNull(spec.substring(startIdx + 1, spec.length() - 2));
-					spec = spec.substring(0, startIdx).trim();
+					priority = trimToNull(spec, startIdx + 1, to - 2);
+					to   = trimEnd(spec, from, startIdx);
+					from = trimStart(spec, from, to);
 				}
 			}
 
-			if (spec.endsWith(")")) {
-				int startIdx = spec.lastIndexOf("(");
+			if (from < to && spec.charAt(to - 1) == ')') {
+				int startIdx = lastIndexOf(spec, '(', from, to);
 				if (startIdx >= 0) {
-					assigneeIds = StringUtils.trimToNull(spec.substring(startIdx + 1, spec.length() - 1));
-					spec = spec.substring(0, startIdx).trim();
+					assigneeIds = trimToNull(spec, startIdx + 1, to - 1);
+					to   = trimEnd(spec, from, startIdx);
+					from = trimStart(spec, from, to);
 				}
 			}
 
-			if (spec.endsWith("}")) {
-				int startIdx = spec.lastIndexOf("{");
+			if (from < to && spec.charAt(to - 1) == '}') {
+				int startIdx = lastIndexOf(spec, '{', from, to);
 				if (startIdx >= 0) {
-					dueDate = decodeDueDate(StringUtils.trimToNull(spec.substring(startIdx + 1, spec.length() - 1)));
-					spec = spec.substring(0, startIdx).trim();
+					dueDate = decodeDueDate(trimToNull(spec, startIdx + 1, to - 1));
+					to   = trimEnd(spec, from, startIdx);
+					from = trimStart(spec, from, to);
 				}
 			}
 
-			if (StringUtils.isNotBlank(name = checklist2cb(spec))) {
+			// Plain text is returned unchanged, and converted markup is cached, so that only the remaining name text is copied
+			String converted = checklist2cb(from == 0 && to == spec.length() ? spec.toString() : spec.subSequence(from, to).toString());
+			if (StringUtils.isNotBlank(converted)) {
 				// Split name into name and description, according to
 				// <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1965752414/Adding+descriptions+to+items+or+headers">Item descriptions<a>
-				int descSepIdx = name.indexOf(DESC_SEP);
+				int descSepIdx = converted.indexOf(DESC_SEP);
 				if (descSepIdx >= 0) {
-					desc = StringUtils.trimToNull(name.substring(descSepIdx + DESC_SEP.length()));
-					name = StringUtils.trimToNull(name.substring(0, descSepIdx));
+					desc = trimToNull(converted, descSepIdx + DESC_SEP.length(), converted.length());
+					name = trimToNull(converted, 0, descSepIdx);
+				} else {
+					name = converted;
+				}
+			} else {
+				name = converted;
+			}
+		}
+
+		private static int indexOf(CharSequence text, char c, int from, int to) {
+			for (int i = from; i < to; ++i) {
+				if (text.charAt(i) == c) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private static int lastIndexOf(CharSequence text, char c, int from, int to) {
+			for (int i = to - 1; i >= from; --i) {
+				if (text.charAt(i) == c) {
+					return i;
 				}
 			}
+			return -1;
 		}
 
 		public String getName() {
@@ -340,51 +667,97 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		}
 
 		public boolean isHeader() {
-			return hasChanged("h");
+			return hasChanged(Kind.HEADER);
 		}
 
 		protected void addChanged(String change) {
 			if (change != null) {
-				if (changed == null) {
-					changed = new TreeSet<String>();
+				Kind kind = Kind.of(change);
+				if (kind != null) {
+					addChanged(kind);
+				} else {
+					if (unknown == null) {
+						unknown = new ArrayList<String>(2);
+					}
+
+					if (!unknown.contains(change = change.toLowerCase())) {
+						unknown.add(change);
+					}
 				}
+			}
+		}
 
-				changed.add(change.toLowerCase());
+		protected void addChanged(Kind kind) {
+			if (changed == null) {
+				changed = EnumSet.of(kind);
+			} else {
+				changed.add(kind);
+			}
 
-				// Adding a new item implicitly also sets the status, priority, dueDate and assignees
-				if ("added".equalsIgnoreCase(change)) {
-					changed.add("status changed");
-					changed.add("priority changed");
-					changed.add("due date changed");
-					changed.add("assigned");
-				}
+			if (kind == Kind.ADDED) {
+				changed.addAll(ADDED_IMPLIES);
 			}
 		}
 
+		/**
+		 * @return the kinds of this change, or an empty set
+		 */
+		public Set<Kind> getChanged() {
+			return changed != null ? Collections.unmodifiableSet(changed) : Collections.<Kind>emptySet();
+		}
+
+		/**
+		 * @return the (lower case) change tokens, that are no known {@link Kind}, in order of appearance, or an empty list
+		 */
+		public List<String> getUnknownChanges() {
+			return unknown != null ? Collections.unmodifiableList(unknown) : Collections.<String>emptyList();
+		}
+
+		public boolean hasChanged(Kind kind) {
+			return changed != null && changed.contains(kind);
+		}
+
 		public boolean hasChanged(String change) {
-			return changed != null && changed.contains(change);
+			Kind kind = Kind.of(change);
+			if (kind != null) {
+				return kind.token.equals(change) && hasChanged(kind);
+			}
+			return unknown != null && unknown.contains(change);
 		}
 
 		public boolean wasAdded() {
-			return hasChanged("added");
+			return hasChanged(Kind.ADDED);
 		}
 
 		public boolean wasRenamed() {
-			return hasChanged("modified");
+			return hasChanged(Kind.MODIFIED);
 		}
 
 		public boolean wasRemoved() {
-			return hasChanged("removed");
+			return hasChanged(Kind.REMOVED);
 		}
 
 		public boolean wasReordered() {
-			return hasChanged("reordered");
+			return hasChanged(Kind.REORDERED);
 		}
 
 		public void apply(JiraTrackerSyncConfig tracker, ObjectNode item) {
-			if (tracker != null && item != null && changed != null) {
-				for (String attrib : changed) {
-					if ("added".equals(attrib) || "modified".equals(attrib)) {
+			if (tracker != null) {
+				apply(PriorityTable.of(tracker), item);
+			}
+		}
+
+		/**
+		 * Apply this change to the specified checklist item
+		 * @param priorities is the priority translation table of the JIRA tracker sync configuration
+		 * @param item is the checklist item to change
+		 */
+		public void apply(PriorityTable priorities, ObjectNode item) {
+			if (priorities != null && item != null && changed != null) {
+				for (Kind kind : changed) {
+					switch(kind) {
+					case ADDED:
+					case MODIFIED:
 						if (name != null) {
 							item.set(NAME, TextNode.valueOf(name));
 						} else {
@@ -396,37 +769,46 @@ public class ChecklistForJiraField extends AbstractJsonController {
 						} else {
 							item.remove(DESCRIPTION);
 						}
-					} else if ("h".equals(attrib)) {
+						break;
+					case HEADER:
 						item.set(HEADER, BooleanNode.TRUE);
-					} else if (CHECKED.equals(attrib)) {
+						break;
+					case CHECKED:
 						item.set(CHECKED, BooleanNode.TRUE);
-					} else if ("unchecked".equals(attrib)) {
+						break;
+					case UNCHECKED:
 						item.set(CHECKED, BooleanNode.FALSE);
-					} else if (MANDATORY.equals(attrib)) {
+						break;
+					case MANDATORY:
 						item.set(MANDATORY, BooleanNode.TRUE);
-					} else if ("optional".equals(attrib)) {
+						break;
+					case OPTIONAL:
 						item.set(MANDATORY, BooleanNode.FALSE);
-					} else if ("status changed".equals(attrib)) {
+						break;
+					case STATUS_CHANGED:
 						JsonNode statusNode = getChecklistStatus(status);
 						if (statusNode != null) {
 							item.set(STATUS, statusNode);
 						} else {
 							item.remove(STATUS);
 						}
-					} else if ("priority changed".equals(attrib)) {
-						JsonNode prioNode = ChecklistForJiraField.getPriority(tracker, priority);
+						break;
+					case PRIORITY_CHANGED:
+						JsonNode prioNode = priorities.getPriority(priority);
 						if (prioNode != null) {
 							item.set(PRIORITY, prioNode);
 						} else {
 							item.remove(PRIORITY);
 						}
-					} else if ("due date changed".equals(attrib)) {
+						break;
+					case DUE_DATE_CHANGED:
 						if (dueDate != null) {
 							item.set(END_DATE, TextNode.valueOf(encodeIsoDate(dueDate)));
 						} else {
 							item.remove(END_DATE);
 						}
-					} else if ("assigned".equals(attrib)) {
+						break;
+					case ASSIGNED:
 						ArrayNode assignees = item.putArray(ASSIGNEE_IDS);
 						if (assigneeIds != null) {
 							for (StringTokenizer parser = new StringTokenizer(assigneeIds, ", "); parser.hasMoreTokens();) {
@@ -436,8 +818,13 @@ public class ChecklistForJiraField extends AbstractJsonController {
 								}
 							}
 						}
-					} else if ("unassigned".equals(attrib)) {
+						break;
+					case UNASSIGNED:
 						item.remove(ASSIGNEE_IDS);
+						break;
+					default:
+						// Removed and reordered items are handled by the caller
+						break;
 					}
 				}
 			}
@@ -448,9 +835,14 @@ public class ChecklistForJiraField extends AbstractJsonController {
 			boolean       first = true;
 			StringBuilder buf = new StringBuilder(80);
 
-			if (changed != null && changed.size() > 0) {
+			if (changed != null || unknown != null) {
+				Set<String> tokens = new TreeSet<String>(getUnknownChanges());
+				for (Kind kind : getChanged()) {
+					tokens.add(kind.getToken());
+				}
+
 				buf.append('[');
-				for (String change : changed) {
+				for (String change : tokens) {
 					if (first) {
 						first = false;
 					} else {
@@ -485,63 +877,216 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	}
 
 	/**
-	 * A wrapper around a JSON array of checklist items
+	 * A wrapper around a JSON array of checklist items.
+	 * <p>On the first lookup by name, the items are indexed by name, so that {@link #getItem(String)} and {@link #removeItem(String)}
+	 * take constant time, and replaying a long history on a large checklist takes linear time.
+	 * Removed items are only marked as removed, until the next {@link #getItems()}, which compacts the items and drops the index.
+	 * The names of items, that were returned by {@link #addItem()} or {@link #getItem(String)}, are re-indexed on the next lookup,
+	 * so the index stays correct, if these items are renamed.</p>
+	 * <p>A {@link #snapshot(JsonNode)} of a checklist shares all items with the checklist, and only copies an item, when it is returned for modification
+	 * by {@link #getItem(String)}, so replaying a history entry, that only modifies a few items, does not have to copy the whole checklist.</p>
 	 */
 	public static class Checklist {
 		private ArrayNode items;
+		private Set<JsonNode> owned;	// The items of a snapshot, that are not shared with the original checklist, or null for no snapshot
+
+		// The name index, that is only built on demand
+		private List<JsonNode>			  slots;	// The items in order, or null for removed items
+		private List<String>			  names;	// The indexed name of each slot
+		private Map<String,List<Integer>> index;	// The ascending slot positions of the items with the same name
+		private List<Integer>			  touched;	// The slots, whose items could have been renamed since they were indexed
+		private int 					  removed;	// The number of removed slots
+		private int 					  cleaned;	// All non-object items before this slot have been removed
 
 		public Checklist(JsonNode items) {
 			this.items = (items instanceof ArrayNode ? (ArrayNode) items : jsonMapper.createArrayNode());
 		}
 
+		/**
+		 * Create a copy-on-write snapshot of the specified checklist items.<br/>
+		 * The snapshot shares all items with the specified checklist, that is never modified via the snapshot.
+		 * Items are only copied, when they are returned by {@link #getItem(String)}, and each item is copied at most once.
+		 * @param items is the checklist to take a snapshot of
+		 * @return a new snapshot of the specified checklist items
+		 */
+		public static Checklist snapshot(JsonNode items) {
+			Checklist snapshot = new Checklist(null);
+
+			if (items instanceof ArrayNode) {
+				snapshot.items.addAll((ArrayNode) items);
+			}
+			snapshot.owned = Collections.newSetFromMap(new IdentityHashMap<JsonNode,Boolean>());
+
+			return snapshot;
+		}
+
 		public ArrayNode getItems() {
+			if (slots != null) {
+				ArrayNode compacted = jsonMapper.createArrayNode();
+
+				for (JsonNode item : slots) {
+					if (item != null) {
+						compacted.add(item);
+					}
+				}
+
+				items = compacted;
+				slots = null;
+				names = null;
+				index = null;
+				touched = null;
+			}
+
 			return items;
 		}
 
 		public int size() {
-			return items.size();
+			return slots != null ? slots.size() - removed : items.size();
 		}
 
 		public ObjectNode addItem() {
-			return items.addObject();
+			if (slots == null) {
+				return own(items.addObject());
+			}
+
+			ObjectNode item = own(jsonMapper.createObjectNode());
+
+			touched.add(Integer.valueOf(slots.size()));
+			slots.add(item);
+			names.add(null);
+
+			return item;
 		}
 
 		public ObjectNode getItem(String name) {
-			if (items.size() > 0 && name != null) {
-				for (JsonNode item : items) {
-					if (item instanceof ObjectNode && name.equals(getString(item, NAME))) {
-						return (ObjectNode) item;
+			if (name != null && size() > 0) {
+				List<Integer> positions = getIndex().get(name);
+				if (positions != null) {
+					Integer    position = positions.get(0);
+					ObjectNode item 	= (ObjectNode) slots.get(position.intValue());
+
+					// The caller could modify a shared item
+					if (owned != null && !owned.contains(item)) {
+						slots.set(position.intValue(), own(item = item.deepCopy()));
 					}
+
+					// The caller could rename the item
+					touched.add(position);
+
+					return item;
 				}
 			}
 
 			return null;
 		}
 
+		private ObjectNode own(ObjectNode item) {
+			if (owned != null) {
+				owned.add(item);
+			}
+			return item;
+		}
+
 		public ObjectNode removeItem(String name) {
 			ObjectNode result = null;
 
-			if (items.size() > 0) {
-				for (Iterator<JsonNode> it = items.iterator(); it.hasNext();) {
-					JsonNode item = it.next();
-					if (item == null || !item.isObject()) {
-						it.remove();
-					} else if (name != null && name.equals(getString(item, NAME))) {
-						it.remove();
+			if (size() > 0) {
+				List<Integer> positions = (name != null ? getIndex().get(name) : null);
+				int 		  target	= (positions != null ? positions.get(0).intValue() : getSlots().size());
+
+				// Remove all non-object items before the removed item
+				for (; cleaned < target; ++cleaned) {
+					JsonNode item = slots.get(cleaned);
+					if (item != null && !item.isObject()) {
+						slots.set(cleaned, null);
+						removed++;
+					}
+				}
+
+				if (positions != null) {
+					result = (ObjectNode) slots.set(target, null);
+					removed++;
+
+					unindex(name, target);
+					names.set(target, null);
+				}
+			}
+
+			return result;
+		}
+
+		private List<JsonNode> getSlots() {
+			if (slots == null) {
+				slots	= new ArrayList<JsonNode>(items.size() + 16);
+				names	= new ArrayList<String>(items.size() + 16);
+				index	= new HashMap<String,List<Integer>>(items.size() * 2);
+				touched = new ArrayList<Integer>();
+				removed = 0;
+				cleaned = 0;
+
+				for (JsonNode item : items) {
+					String name = (item != null && item.isObject() ? getString(item, NAME) : null);
+
+					if (name != null) {
+						index.computeIfAbsent(name, key -> new ArrayList<Integer>(1)).add(Integer.valueOf(slots.size()));
+					}
+
+					slots.add(item);
+					names.add(name);
+				}
+			}
+
+			return slots;
+		}
+
+		private Map<String,List<Integer>> getIndex() {
+			getSlots();
+
+			// Re-index the items, that could have been renamed
+			for (Integer position : touched) {
+				int 	 slot = position.intValue();
+				JsonNode item = slots.get(slot);
+				String	 name = (item != null ? getString(item, NAME) : null);
+				String	 old  = names.get(slot);
+
+				if (item != null && !StringUtils.equals(name, old)) {
+					if (old != null) {
+						unindex(old, slot);
+					}
 
-						if (item instanceof ObjectNode) {
-							result = (ObjectNode) item;
+					if (name != null) {
+						List<Integer> positions = index.computeIfAbsent(name, key -> new ArrayList<Integer>(1));
+						int 		  insert	= Collections.binarySearch(positions, position);
+						if (insert < 0) {
+							positions.add(-insert - 1, position);
 						}
+					}
 
-						break;
+					names.set(slot, name);
+				}
+			}
+
+			touched.clear();
+
+			return index;
+		}
+
+		private void unindex(String name, int slot) {
+			List<Integer> positions = index.get(name);
+			if (positions != null) {
+				int position = Collections.binarySearch(positions, Integer.valueOf(slot));
+				if (position >= 0) {
+					positions.remove(position);
+
+					if (positions.isEmpty()) {
+						index.remove(name);
 					}
 				}
 			}
-			return result;
 		}
 
 		public Checklist reorderItems() {
-			if (items != null && items.size() > 1) {
+			if (getItems().size() > 1) {
 				ArrayNode reordered = jsonMapper.createArrayNode();
 
 				// Put all options (in original order) on top
@@ -568,30 +1113,71 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		}
 
 		/**
-		 * Apply the order of the specified checklist to our checklist items
+		 * Apply the order of the specified checklist to our checklist items.<br/>
+		 * Items are matched by name, where repeated names are matched in order of appearance, and the matched item of the ordered checklist is kept.
+		 * Unmatched items are appended in their current order. Non-object items are only kept, if they follow after all matched items, and all ordered items were matched.
+		 * The items are reordered in a single pass over each checklist, via a map from names to buckets of item positions.
 		 * @param ordered is a checklist whose item order to apply
 		 * @return this table with applied order
 		 */
 		public Checklist applyOrder(JsonNode ordered) {
-			if (ordered != null && ordered.isArray() && ordered.size() > 0 && ordered != items && size() > 1) {
-				ArrayNode reordered = jsonMapper.createArrayNode();
+			if (ordered != null && ordered.isArray() && ordered.size() > 0 && ordered != getItems() && size() > 1) {
+				Map<String,ArrayDeque<Integer>> buckets   = new HashMap<String,ArrayDeque<Integer>>(items.size() * 2);
+				boolean[]						matched   = new boolean[items.size()];
+				int								last	  = -1;
+				boolean							unmatched = false;
+				ArrayNode						reordered = jsonMapper.createArrayNode();
+
+				for (int i = 0; i < matched.length; ++i) {
+					JsonNode item = items.get(i);
+					String	 name = (item.isObject() ? getString(item, NAME) : null);
+					if (name != null) {
+						buckets.computeIfAbsent(name, key -> new ArrayDeque<Integer>(1)).add(Integer.valueOf(i));
+					}
+				}
 
 				for (JsonNode item : ordered) {
-					JsonNode node = removeItem(getString(item, NAME));
-					if (node != null) {
+					String				name   = getString(item, NAME);
+					ArrayDeque<Integer> bucket = (name != null ? buckets.get(name) : null);
+					Integer				match  = (bucket != null ? bucket.poll() : null);
+
+					if (match != null) {
+						matched[match.intValue()] = true;
+						last = Math.max(last, match.intValue());
+
 						reordered.add(item);
+					} else {
+						unmatched = true;
 					}
 				}
 
 				// Remaining items have no defined order, so they are added in current order to the end of the ordered list
-				reordered.addAll(items);
+				for (int i = 0; i < matched.length; ++i) {
+					JsonNode item = items.get(i);
+					if (!matched[i] && (item.isObject() || (!unmatched && i > last))) {
+						reordered.add(item);
+					}
+				}
 
 				items = reordered;
 			}
 
 			return this;
 		}
-	}
+
+		/**
+		 * Apply the order of the specified checklist to our checklist items, but only parse the specified checklist, if there is anything to reorder
+		 * @param ordered is a checklist whose item order to apply
+		 * @return this table with applied order
+		 */
+		public Checklist applyOrder(LazyChecklist ordered) {
+			if (ordered != null && size() > 1 && !ordered.isEmpty()) {
+				applyOrder(ordered.getItems());
+			}
+
+			return this;
+		}
+	}
 
 
 	/**
@@ -611,6 +1197,137 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		return controller != null ? controller.check4ByteChars(string) : string;
 	}
 
+	/**
+	 * Get the specified range of the text, with leading and trailing control characters and whitespace removed
+	 * @param text is the text to get the range from
+	 * @param from is the start index of the range (inclusive)
+	 * @param to is the end index of the range (exclusive)
+	 * @return the trimmed range, or null, if the trimmed range is empty
+	 */
+	static String trimToNull(CharSequence text, int from, int to) {
+		from = trimStart(text, from, to);
+		to	 = trimEnd(text, from, to);
+
+		return from < to ? text.subSequence(from, to).toString() : null;
+	}
+
+	/**
+	 * @return the start index of the specified range of the text, after leading control characters and whitespace
+	 */
+	static int trimStart(CharSequence text, int from, int to) {
+		while (from < to && text.charAt(from) <= ' ') {
+			from++;
+		}
+		return from;
+	}
+
+	/**
+	 * @return the end index of the specified range of the text, before trailing control characters and whitespace
+	 */
+	static int trimEnd(CharSequence text, int from, int to) {
+		while (to > from && text.charAt(to - 1) <= ' ') {
+			to--;
+		}
+		return to;
+	}
+
+	/**
+	 * Convert a single <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a> item
+	 * into a {@link ChecklistPlugin} item
+	 * @param priorities is the priority translation table of the JIRA tracker sync configuration
+	 * @param itemNode is the checklist item as returned from Jira, that will be converted in place
+	 * @param converted is a buffer for the markup conversion, that can be reused for all items of a checklist
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}
+	 * @return the converted item
+	 */
+	protected ObjectNode jira2cb(PriorityTable priorities, ObjectNode itemNode, StringBuilder converted, JiraImportController controller) {
+		// We don't need the rank, and it's read-only anyways
+		itemNode.remove(RANK);
+
+		if (getBoolean(itemNode.remove(IS_HEADER), null)) {
+			itemNode.set(HEADER, BooleanNode.TRUE);
+		}
+
+		// In Checklist for JIRA V5.0, OPTION is deprecated and replaced by OPTION_ID
+		if (getInteger(itemNode, GLOBAL_ID) != null || getBoolean(itemNode.remove(OPTION), null)) {
+			itemNode.set(PINNED, BooleanNode.TRUE);
+		}
+
+		converted.setLength(0);
+		checklist2cb(check4ByteChars(controller, getString(itemNode, NAME)), converted);
+
+		if (StringUtils.isNotBlank(converted)) {
+			String name;
+			String desc = null;
+
+			// Split name into name and description, according to
+			// <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1965752414/Adding+descriptions+to+items+or+headers">Item descriptions<a>
+			int descSepIdx = converted.indexOf(DESC_SEP);
+			if (descSepIdx >= 0) {
+				desc = trimToNull(converted, descSepIdx + DESC_SEP.length(), converted.length());
+				name = trimToNull(converted, 0, descSepIdx);
+			} else {
+				name = converted.toString();
+			}
+
+			if (name != null) {
+				itemNode.set(NAME, TextNode.valueOf(name));
+			} else {
+				itemNode.remove(NAME);
+			}
+
+			if (desc != null) {
+				itemNode.set(DESCRIPTION, TextNode.valueOf(desc));
+			} else {
+				itemNode.remove(DESCRIPTION);
+			}
+		}
+
+		Integer priorityId = getInteger(itemNode.remove(PRIORITY_ID), null);
+		if (priorityId != null) {
+			JsonNode priority = priorities.getPriority(priorityId);
+			if (priority != null) {
+				itemNode.set(PRIORITY, priority);
+			} else {
+				// Keep unmaped Jira priority ID
+				itemNode.set(PRIORITY_ID, IntNode.valueOf(priorityId.intValue()));
+			}
+		}
+
+		// Convert Jira specific dueDate into ISO endDate
+		String dueDate = getString(itemNode.remove(DUE_DATE), null);
+		if (dueDate != null) {
+			try {
+				Date endDate = JIRA_DATES.decode(dueDate);
+				if (endDate != null) {
+					itemNode.set(END_DATE, TextNode.valueOf(encodeIsoDate(endDate)));
+				}
+			} catch(Throwable ex) {
+				logger.warn("Could not convert dueDate: " + dueDate, ex);
+			}
+		}
+
+		// Convert ChecklistForJira status in ChecklistPlugin status
+		JsonNode status = itemNode.remove(STATUS);
+		if (status != null && status.isObject()) {
+			String statusId = getString(status, ID);
+
+			// Ignore NONE status and add missing status name
+			if (StringUtils.isNotBlank(statusId) && !StringUtils.equalsIgnoreCase(statusId, NONE)) {
+				String statusName = getString(status, NAME);
+				if (statusName == null) {
+					statusName = STATUS_NAME.get(statusId);
+				} else {
+					statusName = checklist2cb(check4ByteChars(controller, statusName));
+				}
+
+				itemNode.set(STATUS, getStatus(StringUtils.defaultIfBlank(statusName, statusId), statusId));
+			}
+		}
+
+		return itemNode;
+	}
+
 	/**
 	 * Convert a <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
 	 * into a {@link ChecklistPlugin} body
@@ -621,93 +1338,142 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	 */
 	public JsonNode jira2cb(JiraTrackerSyncConfig tracker, JsonNode checklist, JiraImportController controller) {
 		if (checklist != null && checklist.isArray() && checklist.size() > 0) {
+			return jira2cb(PriorityTable.of(tracker), checklist, controller);
+		}
+
+		return checklist;
+	}
+
+	/**
+	 * Convert a <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
+	 * into a {@link ChecklistPlugin} body
+	 * @param priorities is the priority translation table of the JIRA tracker sync configuration
+	 * @param checklist is the checklist as returned from Jira
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}
+	 * @return the checklist converted into a {@link ChecklistPlugin} body
+	 */
+	protected JsonNode jira2cb(PriorityTable priorities, JsonNode checklist, JiraImportController controller) {
+		if (checklist != null && checklist.isArray() && checklist.size() > 0) {
+			StringBuilder converted = new StringBuilder(256);
+
 			for (JsonNode item : checklist) {
 				if (item != null && item.isObject()) {
-					ObjectNode itemNode = (ObjectNode) item;
+					jira2cb(priorities, (ObjectNode) item, converted, controller);
+				}
+			}
+		}
 
-					// We don't need the rank, and it's read-only anyways
-					itemNode.remove(RANK);
+		return checklist;
+	}
 
-					if (getBoolean(itemNode.remove(IS_HEADER), null)) {
-						itemNode.set(HEADER, BooleanNode.TRUE);
-					}
+	/**
+	 * Convert a <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
+	 * into a {@link ChecklistPlugin} body, item by item, without building a tree of the whole checklist.
+	 * <p>Only one item at a time is read into a tree and converted via {@link #jira2cb(PriorityTable, ObjectNode, StringBuilder, JiraImportController)},
+	 * so the result is the same as for {@link #jira2cb(JiraTrackerSyncConfig, JsonNode, JiraImportController)}.
+	 * Array elements, that are not objects, are copied unchanged.</p>
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param checklist is the parser for the checklist as returned from Jira, positioned before or at the start of the checklist array
+	 * @param body is the generator, where to write the converted {@link ChecklistPlugin} body in the current {@link ChecklistPlugin#getBodyFormat()}
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}
+	 * @return true if the checklist was an array, that was converted, otherwise false, and nothing was written
+	 * @throws IOException if reading the checklist or writing the body failed
+	 */
+	public boolean jira2cb(JiraTrackerSyncConfig tracker, JsonParser checklist, JsonGenerator body, JiraImportController controller) throws IOException {
+		return jira2cb(PriorityTable.of(tracker), checklist, body, getBodyFormat(), controller);
+	}
 
-					// In Checklist for JIRA V5.0, OPTION is deprecated and replaced by OPTION_ID
-					if (getInteger(item, GLOBAL_ID) != null || getBoolean(itemNode.remove(OPTION), null)) {
-						itemNode.set(PINNED, BooleanNode.TRUE);
-					}
+	/**
+	 * Convert a <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
+	 * into a {@link ChecklistPlugin} body in the specified format, item by item, without building a tree of the whole checklist.
+	 * @param priorities is the priority translation table of the JIRA tracker sync configuration
+	 * @param checklist is the parser for the checklist as returned from Jira, positioned before or at the start of the checklist array
+	 * @param body is the generator, where to write the converted {@link ChecklistPlugin} body
+	 * @param format is the format of the {@link ChecklistPlugin} body
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}
+	 * @return true if the checklist was an array, that was converted, otherwise false, and nothing was written
+	 * @throws IOException if reading the checklist or writing the body failed
+	 */
+	protected boolean jira2cb(PriorityTable priorities, JsonParser checklist, JsonGenerator body, Format format, JiraImportController controller) throws IOException {
+		JsonToken token = (checklist.hasCurrentToken() ? checklist.getCurrentToken() : checklist.nextToken());
+		if (token != JsonToken.START_ARRAY) {
+			checklist.skipChildren();
+			return false;
+		}
 
-					String name = checklist2cb(check4ByteChars(controller, getString(item, NAME)));
-					if (StringUtils.isNotBlank(name)) {
-						String desc = null;
+		StringBuilder converted = new StringBuilder(256);
 
-						// Split name into name and description, according to
-						// <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1965752414/Adding+descriptions+to+items+or+headers">Item descriptions<a>
-						int descSepIdx = name.indexOf(DESC_SEP);
-						if (descSepIdx >= 0) {
-							desc = StringUtils.trimToNull(name.substring(descSepIdx + DESC_SEP.length()));
-							name = StringUtils.trimToNull(name.substring(0, descSepIdx));
-						}
+		body.writeStartArray();
 
-						if (name != null) {
-							itemNode.set(NAME, TextNode.valueOf(name));
-						} else {
-							itemNode.remove(NAME);
-						}
+		while ((token = checklist.nextToken()) != null && token != JsonToken.END_ARRAY) {
+			if (token == JsonToken.START_OBJECT) {
+				body.writeTree(format.compact(jira2cb(priorities, (ObjectNode) jsonMapper.readTree(checklist), converted, controller)));
+			} else {
+				body.copyCurrentStructure(checklist);
+			}
+		}
 
-						if (desc != null) {
-							itemNode.set(DESCRIPTION, TextNode.valueOf(desc));
-						} else {
-							itemNode.remove(DESCRIPTION);
-						}
-					}
+		body.writeEndArray();
 
-					Integer priorityId = getInteger(itemNode.remove(PRIORITY_ID), null);
-					if (priorityId != null) {
-						JsonNode priority = getPriority(tracker, priorityId);
-						if (priority != null) {
-							itemNode.set(PRIORITY, priority);
-						} else {
-							// Keep unmaped Jira priority ID
-							itemNode.set(PRIORITY_ID, IntNode.valueOf(priorityId.intValue()));
-						}
-					}
+		return true;
+	}
 
-					// Convert Jira specific dueDate into ISO endDate
-					String dueDate = getString(itemNode.remove(DUE_DATE), null);
-					if (dueDate != null) {
-						try {
-							Date endDate = decodeDate(dueDate);
-							if (endDate != null) {
-								itemNode.set(END_DATE, TextNode.valueOf(encodeIsoDate(endDate)));
-							}
-						} catch(Throwable ex) {
-							logger.warn("Could not convert dueDate: " + dueDate, ex);
-						}
-					}
+	/**
+	 * Convert a single {@link ChecklistPlugin} item into a
+	 * <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a> item
+	 * @param priorities is the priority translation table of the JIRA tracker sync configuration
+	 * @param itemNode is the {@link ChecklistPlugin} item, that will be converted in place
+	 * @param converted is a buffer for the markup conversion, that can be reused for all items of a checklist
+	 * @return the converted item
+	 */
+	protected ObjectNode cb2jira(PriorityTable priorities, ObjectNode itemNode, StringBuilder converted) {
+		if (getBoolean(itemNode.remove(HEADER), null)) {
+			itemNode.set(IS_HEADER, BooleanNode.TRUE);
+		}
 
-					// Convert ChecklistForJira status in ChecklistPlugin status
-					JsonNode status = itemNode.remove(STATUS);
-					if (status != null && status.isObject()) {
-						String statusId = getString(status, ID);
-
-						// Ignore NONE status and add missing status name
-						if (StringUtils.isNotBlank(statusId) && !StringUtils.equalsIgnoreCase(statusId, NONE)) {
-							String statusName = getString(status, NAME);
-							if (statusName == null) {
-								statusName = STATUS_NAME.get(statusId);
-							} else {
-								statusName = checklist2cb(check4ByteChars(controller, statusName));
-							}
+		// In Checklist for JIRA V5.0, OPTION is deprecated and replaced by OPTION_ID
+		if (getBoolean(itemNode.remove(PINNED), null) && getInteger(itemNode, GLOBAL_ID) == null) {
+			itemNode.set(OPTION, BooleanNode.TRUE);
+		}
 
-							itemNode.set(STATUS, getStatus(StringUtils.defaultIfBlank(statusName, statusId), statusId));
-						}
-					}
-				}
+		// Concat name and description, according to
+		// <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1965752414/Adding+descriptions+to+items+or+headers">Item descriptions<a>
+		// Name and description are converted separately, so that markup cannot span the description separator
+		String name = getString(itemNode, NAME);
+		String desc = getString(itemNode.remove(DESCRIPTION), null);
+		if (desc != null) {
+			converted.setLength(0);
+			cb2checklist(name, converted).append(DESC_SEP).append('\n');
+			name = cb2checklist(desc, converted).toString();
+		} else {
+			name = cb2checklist(name);
+		}
+
+		itemNode.set(NAME, TextNode.valueOf(name));
+
+		Integer priorityId = priorities.getJiraPriorityId(itemNode.remove(PRIORITY));
+		if (priorityId != null) {
+			itemNode.set(PRIORITY_ID, IntNode.valueOf(priorityId.intValue()));
+		}
+
+		// Convert ISO endDate into Jira specific dueDate
+		String endDate = getString(itemNode.remove(END_DATE), null);
+		if (endDate != null) {
+			try {
+				Date dueDate = decodeIsoDate(endDate);
+				itemNode.set(DUE_DATE, TextNode.valueOf(JIRA_DATES.encode(dueDate)));
+			} catch(Throwable ex) {
+				logger.warn("Could not convert endDate: " + endDate, ex);
 			}
 		}
 
-		return checklist;
+		// Only the status id is needed
+		Status status = ChecklistPlugin.getCanonicalStatus(itemNode.remove(STATUS));
+		if (status != null && status.getStyle() != null) {
+			itemNode.set(STATUS, status.getJiraNode());
+		}
+
+		return itemNode;
 	}
 
 	/**
@@ -719,55 +1485,67 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	 */
 	public JsonNode cb2jira(JiraTrackerSyncConfig tracker, JsonNode checklist) {
 		if (checklist != null && checklist.isArray() && checklist.size() > 0) {
+			StringBuilder converted  = new StringBuilder(256);
+			PriorityTable priorities = PriorityTable.of(tracker);
+
 			for (JsonNode item : checklist) {
 				if (item != null && item.isObject()) {
-					ObjectNode itemNode = (ObjectNode) item;
-
-					if (getBoolean(itemNode.remove(HEADER), null)) {
-						itemNode.set(IS_HEADER, BooleanNode.TRUE);
-					}
-
-					// In Checklist for JIRA V5.0, OPTION is deprecated and replaced by OPTION_ID
-					if (getBoolean(itemNode.remove(PINNED), null) && getInteger(item, GLOBAL_ID) == null) {
-						itemNode.set(OPTION, BooleanNode.TRUE);
-					}
-
-					// Concat name and description, according to
-					// <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1965752414/Adding+descriptions+to+items+or+headers">Item descriptions<a>
-					String name = getString(item, NAME);
-					String desc = getString(itemNode.remove(DESCRIPTION), null);
-					if (desc != null) {
-						name = StringUtils.defaultString(name) + DESC_SEP + "\n" + desc;
-					}
-
-					itemNode.set(NAME, TextNode.valueOf(cb2checklist(name)));
+					cb2jira(priorities, (ObjectNode) item, converted);
+				}
+			}
+		}
 
-					Integer priorityId = getJiraPriorityId(tracker, itemNode.remove(PRIORITY));
-					if (priorityId != null) {
-						itemNode.set(PRIORITY_ID, IntNode.valueOf(priorityId.intValue()));
-					}
+		return checklist;
+	}
 
-					// Convert ISO endDate into Jira specific dueDate
-					String endDate = getString(itemNode.remove(END_DATE), null);
-					if (endDate != null) {
-						try {
-							Date dueDate = decodeIsoDate(endDate);
-							itemNode.set(DUE_DATE, TextNode.valueOf(encodeDate(dueDate)));
-						} catch(Throwable ex) {
-							logger.warn("Could not convert endDate: " + endDate, ex);
-						}
-					}
+	/**
+	 * Convert a {@link ChecklistPlugin} body into a
+	 * <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>,
+	 * item by item, without building a tree of the whole checklist.
+	 * <p>Only one item at a time is read into a tree and converted via {@link #cb2jira(PriorityTable, ObjectNode, StringBuilder)},
+	 * so the result is the same as for {@link #cb2jira(JiraTrackerSyncConfig, JsonNode)}.
+	 * Array elements, that are not objects, and bodies, that are not arrays, are copied unchanged.
+	 * The parser is not read beyond the end of the body.</p>
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param checklist is the parser for the {@link ChecklistPlugin} body with regular attribute keys, positioned before or at the start of the body
+	 * @param jira is the generator, where to write the converted checklist
+	 * @throws IOException if reading the body or writing the checklist failed
+	 */
+	public void cb2jira(JiraTrackerSyncConfig tracker, JsonParser checklist, JsonGenerator jira) throws IOException {
+		cb2jira(PriorityTable.of(tracker), checklist, Format.V1, jira);
+	}
 
-					// Only the status id is needed
-					TrackerChoiceOptionDto status = ChecklistPlugin.getStatus(itemNode.remove(STATUS));
-					if (status != null && StringUtils.isNotBlank(status.getStyle())) {
-						itemNode.set(STATUS, itemNode.objectNode().put(ID, status.getStyle()));
-					}
+	/**
+	 * Convert a {@link ChecklistPlugin} body in the specified format into a
+	 * <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>,
+	 * item by item, without building a tree of the whole checklist.
+	 * @param priorities is the priority translation table of the JIRA tracker sync configuration
+	 * @param checklist is the parser for the {@link ChecklistPlugin} body, positioned before or at the start of the body
+	 * @param format is the format of the {@link ChecklistPlugin} body
+	 * @param jira is the generator, where to write the converted checklist
+	 * @throws IOException if reading the body or writing the checklist failed
+	 */
+	protected void cb2jira(PriorityTable priorities, JsonParser checklist, Format format, JsonGenerator jira) throws IOException {
+		JsonToken token = (checklist.hasCurrentToken() ? checklist.getCurrentToken() : checklist.nextToken());
+		if (token == null) {
+			jira.writeNull();
+		} else if (token != JsonToken.START_ARRAY) {
+			jira.copyCurrentStructure(checklist);
+		} else {
+			StringBuilder converted = new StringBuilder(256);
+
+			jira.writeStartArray();
+
+			while ((token = checklist.nextToken()) != null && token != JsonToken.END_ARRAY) {
+				if (token == JsonToken.START_OBJECT) {
+					jira.writeTree(cb2jira(priorities, (ObjectNode) format.expand(jsonMapper.readTree(checklist)), converted));
+				} else {
+					jira.copyCurrentStructure(checklist);
 				}
 			}
-		}
 
-		return checklist;
+			jira.writeEndArray();
+		}
 	}
 
 	/**
@@ -802,6 +1580,391 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		return wrapChecklist(jira2cb(tracker, checklist, controller));
 	}
 
+	/**
+	 * Convert the specified checklist into {@link ChecklistPlugin} markup for the specified item field, unless the checklist is unchanged since the last import.
+	 * <p>The {@link #fingerprint(JiraTrackerSyncConfig)} of the tracker, the {@link #fingerprint(JsonNode)} of each imported checklist
+	 * and the {@link ChecklistPlugin#fingerprint(String)} of the resulting markup are recorded in {@link #IMPORTED},
+	 * so if the tracker configuration and the incoming checklist have the same fingerprints as on the last import, and the item field still contains the markup from that import,
+	 * the current field value is returned, without converting and serializing the checklist.</p>
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param item is the tracker item, that will contain the checklist field value
+	 * @param field is the checklist field
+	 * @param checklist should be a JSON array of checklist items to convert into {@link ChecklistPlugin} markup
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}, or null
+	 * @return the {@link ChecklistPlugin} markup for the checklist
+	 */
+	public String importChecklist(JiraTrackerSyncConfig tracker, TrackerItemDto item, TrackerLayoutLabelDto field, JsonNode checklist, JiraImportController controller) {
+		Long key = Fingerprints.getKey(item, field);
+		if (key != null) {
+			long   config	   = fingerprint(tracker);
+			long   fingerprint = fingerprint(checklist);
+			Object value 	   = field.getValue(item);
+
+			if (value instanceof String && IMPORTED.matches(key, config, fingerprint, ChecklistPlugin.fingerprint((String) value))) {
+				return (String) value;
+			}
+
+			String markup = importChecklist(tracker, checklist, controller);
+
+			IMPORTED.put(key, config, fingerprint, ChecklistPlugin.fingerprint(markup));
+
+			return markup;
+		}
+
+		return importChecklist(tracker, checklist, controller);
+	}
+
+	/**
+	 * Convert the specified checklist into {@link ChecklistPlugin} markup, item by item,
+	 * without building a tree of the whole checklist
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param checklist is the parser for the checklist as returned from Jira, positioned before or at the start of the checklist array
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}, or null
+	 * @return the {@link ChecklistPlugin} markup for the checklist, that is the same as for {@link #importChecklist(JiraTrackerSyncConfig, JsonNode, JiraImportController)}
+	 * @throws IOException if reading the checklist failed
+	 */
+	public String importChecklist(JiraTrackerSyncConfig tracker, JsonParser checklist, JiraImportController controller) throws IOException {
+		Format 		 format = getBodyFormat();
+		StringWriter markup = new StringWriter(1024);
+		markup.write(format.getHeader());
+
+		try (JsonGenerator body = format.createGenerator(markup)) {
+			jira2cb(PriorityTable.of(tracker), checklist, body, format, controller);
+		}
+
+		markup.write(PLUGIN_FOOTER);
+
+		return markup.toString();
+	}
+
+	/**
+	 * The signal, that a checklist is unchanged since the last export or import, so there is nothing to update
+	 */
+	public static final JsonNode NO_CHANGE = MissingNode.getInstance();
+
+	/**
+	 * A bounded store of the fingerprints of the checklists per item field, e.g. on the last export or import.
+	 * <p>Once full, the store evicts the fingerprints of the least recently used item field.
+	 * Like the {@link ChecklistForJiraMarkup.Cache}, the store is split into up to {@link ChecklistForJiraMarkup.Cache#MAX_STRIPES} stripes by key,
+	 * each with its own lock and least recently used order, and small stores have a single stripe.</p>
+	 */
+	public static class Fingerprints {
+
+		/**
+		 * A stripe of the store: an access ordered map, that evicts its least recently used entry, when its capacity is exceeded
+		 */
+		private static final class Stripe extends LinkedHashMap<Long,long[]> {
+			private static final long serialVersionUID = 1L;
+
+			private final int capacity;
+
+			Stripe(int capacity) {
+				super(64, 0.75f, true);
+				this.capacity = capacity;
+			}
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long,long[]> eldest) {
+				return size() > capacity;
+			}
+		}
+
+		private final Stripe[] stripes;
+
+		/**
+		 * Create a new fingerprint store
+		 * @param capacity is the maximum number of item fields, to store fingerprints for
+		 */
+		public Fingerprints(int capacity) {
+			int count = 1;
+			while (count < ChecklistForJiraMarkup.Cache.MAX_STRIPES && capacity / (count * 2) >= ChecklistForJiraMarkup.Cache.MIN_STRIPE_CAPACITY) {
+				count *= 2;
+			}
+
+			stripes = new Stripe[count];
+			for (int i = 0; i < count; ++i) {
+				stripes[i] = new Stripe(Math.max(1, capacity / count + (i < capacity % count ? 1 : 0)));
+			}
+		}
+
+		/**
+		 * Get the stripe for the specified key
+		 * @param key is the key of the item field
+		 * @return the stripe, that stores the fingerprints for the key
+		 */
+		private Stripe getStripe(Long key) {
+			int hash = key.hashCode();
+			return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+		}
+
+		/**
+		 * Get the key for the fingerprints of the specified item field
+		 * @param item is the tracker item
+		 * @param field is the checklist field
+		 * @return the key for the fingerprints of the item field, or null, if the item or field has no id (yet)
+		 */
+		public static Long getKey(TrackerItemDto item, TrackerLayoutLabelDto field) {
+			if (item != null && item.getId() != null && field != null && field.getId() != null) {
+				return Long.valueOf(((long) item.getId().intValue() << 32) | (field.getId().intValue() & 0xFFFFFFFFL));
+			}
+
+			return null;
+		}
+
+		/**
+		 * Check whether the specified fingerprints match the fingerprints stored under the specified key
+		 * @param key is the key of the item field
+		 * @param fingerprints are the fingerprints to check
+		 * @return true if the same fingerprints are stored under the key, otherwise false
+		 */
+		public boolean matches(Long key, long... fingerprints) {
+			if (key != null) {
+				Stripe stripe = getStripe(key);
+				synchronized (stripe) {
+					return Arrays.equals(stripe.get(key), fingerprints);
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Store the specified fingerprints under the specified key
+		 * @param key is the key of the item field
+		 * @param fingerprints are the fingerprints to store
+		 */
+		public void put(Long key, long... fingerprints) {
+			if (key != null) {
+				Stripe stripe = getStripe(key);
+				synchronized (stripe) {
+					stripe.put(key, fingerprints);
+				}
+			}
+		}
+
+		/**
+		 * Remove the fingerprints of the specified item field, e.g. if the item field was modified outside of the synchronization
+		 * @param item is the tracker item
+		 * @param field is the checklist field
+		 */
+		public void remove(TrackerItemDto item, TrackerLayoutLabelDto field) {
+			Long key = getKey(item, field);
+			if (key != null) {
+				Stripe stripe = getStripe(key);
+				synchronized (stripe) {
+					stripe.remove(key);
+				}
+			}
+		}
+
+		/**
+		 * Remove all fingerprints
+		 */
+		public void clear() {
+			for (Stripe stripe : stripes) {
+				synchronized (stripe) {
+					stripe.clear();
+				}
+			}
+		}
+	}
+
+	/**
+	 * The fingerprints of the tracker configuration and the checklists per item field on the last successful export
+	 */
+	public static final Fingerprints EXPORTED = new Fingerprints(1 << 20);
+
+	/**
+	 * The fingerprints of the tracker configuration, the incoming Jira checklists and the resulting markup per item field on the last import
+	 */
+	public static final Fingerprints IMPORTED = new Fingerprints(1 << 20);
+
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+		hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return hash ^ (hash >>> 33);
+	}
+
+	private static long fingerprint(String text, long hash) {
+		for (int i = 0; i < text.length(); ++i) {
+			hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Compute a stable fingerprint of the specified Jira checklist, without converting it.<br/>
+	 * The order of array elements is significant, but the order of object properties is not.
+	 * @param checklist is the JSON array of Jira checklist items, or any other JSON node
+	 * @return the 64-bit fingerprint of the checklist
+	 */
+	public static long fingerprint(JsonNode checklist) {
+		return fingerprint(checklist, null);
+	}
+
+	/**
+	 * Compute a stable fingerprint of the specified Jira checklist (item), ignoring the specified property of the checklist (item) itself
+	 * @param checklist is the JSON array of Jira checklist items, a single Jira checklist item, or any other JSON node
+	 * @param ignored is the name of an object property, e.g. {@link #RANK}, that should not be part of the fingerprint, or null
+	 * @return the 64-bit fingerprint of the checklist (item)
+	 */
+	public static long fingerprint(JsonNode checklist, String ignored) {
+		if (checklist == null || checklist.isMissingNode() || checklist.isNull()) {
+			return 0L;
+		}
+
+		long hash = 0xcbf29ce484222325L ^ checklist.getNodeType().ordinal();
+
+		if (checklist.isObject()) {
+			long fields = 0L;
+			int  count  = 0;
+
+			// The sum of the property hashes does not depend on the property order
+			for (Iterator<Map.Entry<String,JsonNode>> it = checklist.fields(); it.hasNext();) {
+				Map.Entry<String,JsonNode> field = it.next();
+				if (!field.getKey().equals(ignored)) {
+					fields += mix(fingerprint(field.getKey(), hash) * 31 + fingerprint(field.getValue()));
+					count++;
+				}
+			}
+
+			hash = mix(hash ^ fields) + count;
+		} else if (checklist.isArray()) {
+			for (JsonNode item : checklist) {
+				hash = mix(hash * 31 + fingerprint(item));
+			}
+		} else {
+			hash = mix(fingerprint(checklist.asText(), hash));
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Compute a fingerprint of the configuration of the specified tracker, that the checklist conversion depends on,
+	 * that is the tracker id and the priority mapping in both directions. The checklist statuses are not configured per tracker.
+	 * @param tracker is the JIRA tracker sync configuration, or null
+	 * @return the 64-bit fingerprint of the tracker configuration
+	 */
+	public static long fingerprint(JiraTrackerSyncConfig tracker) {
+		if (tracker == null) {
+			return 0L;
+		}
+
+		long hash    = mix(0xcbf29ce484222325L ^ (tracker.getId() != null ? tracker.getId().longValue() : -1L));
+		long exports = 0L;
+
+		// The sums of the entry hashes do not depend on the mapping order
+		for (int id = 0; id < PRIORITIES.size(); ++id) {
+			exports += mix(id * 31L + fingerprint(tracker.getExportOption(PRIORITY_LABEL_ID, Integer.valueOf(id)), hash));
+		}
+
+		Map<Object,TrackerChoiceOptionDto> mapping = tracker.getChoiceValueMapping(PRIORITY_LABEL_ID);
+		if (mapping != null) {
+			long entries = 0L;
+
+			for (Map.Entry<Object,TrackerChoiceOptionDto> entry : mapping.entrySet()) {
+				Object 				   key 	    = entry.getKey();
+				TrackerChoiceOptionDto priority = entry.getValue();
+
+				entries += mix((key instanceof String ? fingerprint((String) key, hash) : mix(hash + Objects.hashCode(key))) * 31 + fingerprint(priority, hash));
+
+				if (priority != null && priority.getId() != null) {
+					exports += mix(priority.getId().intValue() * 31L + fingerprint(tracker.getExportOption(PRIORITY_LABEL_ID, priority.getId()), hash));
+				}
+			}
+
+			hash = mix(hash ^ entries) + mapping.size();
+		}
+
+		return mix(hash ^ exports);
+	}
+
+	private static long fingerprint(TrackerChoiceOptionDto option, long hash) {
+		if (option == null) {
+			return 0L;
+		}
+
+		hash = mix(hash ^ (option.getId() != null ? option.getId().longValue() : -1L));
+		hash = (option.getName() != null ? fingerprint(option.getName(), hash * 31) : mix(~hash));
+
+		return option.getDescription() != null ? fingerprint(option.getDescription(), hash * 31) : mix(~hash);
+	}
+
+	/**
+	 * The minimum number of checklists, that are converted by a single task of {@link #importChecklists(JiraTrackerSyncConfig, List, JiraImportController, ForkJoinPool)}
+	 */
+	public static final int IMPORT_BATCH_SIZE = 4;
+
+	/**
+	 * A ForkJoin task to convert a range of checklists into {@link ChecklistPlugin} markup
+	 */
+	protected class ImportChecklists extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final PriorityTable			  	priorities;
+		private final List<? extends JsonNode>  checklists;
+		private final String[]				 	markups;
+		private final JiraImportController   	controller;
+		private final int						from;
+		private final int						to;
+
+		protected ImportChecklists(PriorityTable priorities, List<? extends JsonNode> checklists, String[] markups, JiraImportController controller, int from, int to) {
+			this.priorities = priorities;
+			this.checklists = checklists;
+			this.markups    = markups;
+			this.controller = controller;
+			this.from 	    = from;
+			this.to	 	    = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= IMPORT_BATCH_SIZE) {
+				for (int i = from; i < to; ++i) {
+					markups[i] = wrapChecklist(jira2cb(priorities, checklists.get(i), controller));
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+
+				invokeAll(new ImportChecklists(priorities, checklists, markups, controller, from, middle),
+						  new ImportChecklists(priorities, checklists, markups, controller, middle, to));
+			}
+		}
+	}
+
+	/**
+	 * Convert a batch of checklists, e.g. the checklist fields of many issues, into {@link ChecklistPlugin} markup in parallel,
+	 * via the {@link ForkJoinPool#commonPool()}
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param checklists is the batch of checklists to convert, that will be converted in place
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}, or null. The controller must be thread-safe.
+	 * @return the {@link ChecklistPlugin} markup for each checklist, in the same order as the checklists
+	 */
+	public List<String> importChecklists(JiraTrackerSyncConfig tracker, List<? extends JsonNode> checklists, JiraImportController controller) {
+		return importChecklists(tracker, checklists, controller, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Convert a batch of checklists, e.g. the checklist fields of many issues, into {@link ChecklistPlugin} markup in parallel
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param checklists is the batch of checklists to convert, that will be converted in place
+	 * @param controller to {@link JiraImportController#check4ByteChars(String)}, or null. The controller must be thread-safe.
+	 * @param pool is the ForkJoin pool to run the conversion
+	 * @return the {@link ChecklistPlugin} markup for each checklist, in the same order as the checklists
+	 */
+	public List<String> importChecklists(JiraTrackerSyncConfig tracker, List<? extends JsonNode> checklists, JiraImportController controller, ForkJoinPool pool) {
+		if (checklists == null || checklists.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		String[] markups = new String[checklists.size()];
+
+		// The priority translation table is built once for the whole batch
+		pool.invoke(new ImportChecklists(PriorityTable.of(tracker), checklists, markups, controller, 0, markups.length));
+
+		return Arrays.asList(markups);
+	}
+
 	/**
 	 * Unwrap the checklist, that is stored in the specified Wiki markup
 	 * @param tracker is the JIRA tracker sync configuration
@@ -813,6 +1976,70 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		return cb2jira(tracker, unwrapChecklist(markup));
 	}
 
+	/**
+	 * Compare the checklist, that is stored in the specified Wiki markup, item by item against the last exported Jira checklist
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param exported is the JSON array of checklist items, that was exported to (or imported from) Jira on the last synchronization
+	 * @param markup should be WIKI markup for this plugin
+	 * @return the item changes, that are necessary to turn the exported checklist into the current checklist
+	 */
+	public ChecklistForJiraDiff exportChanges(JiraTrackerSyncConfig tracker, JsonNode exported, String markup) {
+		return ChecklistForJiraDiff.compare(exported, exportChecklist(tracker, markup));
+	}
+
+	/**
+	 * Unwrap the checklist, that is stored in the specified Wiki markup of the specified item field, unless the checklist is unchanged since the last export.
+	 * <p>If the tracker configuration and the checklist have the same fingerprints, as recorded in {@link #EXPORTED} on the last {@link #exportSucceeded(JiraTrackerSyncConfig, TrackerItemDto, TrackerLayoutLabelDto, String) successful export},
+	 * {@link #NO_CHANGE} is returned, without unwrapping and converting the checklist, and the Jira update can be skipped.</p>
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param item is the tracker item, that contains the checklist field value
+	 * @param field is the checklist field
+	 * @param markup should be WIKI markup for this plugin
+	 * @return the JSON array of checklist items as stored in the Wiki markup, or {@link #NO_CHANGE}, if the checklist is unchanged since the last export
+	 */
+	public JsonNode exportChecklist(JiraTrackerSyncConfig tracker, TrackerItemDto item, TrackerLayoutLabelDto field, String markup) {
+		Long key = Fingerprints.getKey(item, field);
+		if (key != null && EXPORTED.matches(key, fingerprint(tracker), ChecklistPlugin.fingerprint(markup))) {
+			return NO_CHANGE;
+		}
+
+		return exportChecklist(tracker, markup);
+	}
+
+	/**
+	 * Record the fingerprints of the tracker configuration and the checklist in {@link #EXPORTED}, after Jira confirmed the update of the specified item field,
+	 * so that the next {@link #exportChecklist(JiraTrackerSyncConfig, TrackerItemDto, TrackerLayoutLabelDto, String) export} of the same checklist can be skipped
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param item is the tracker item, that contains the checklist field value
+	 * @param field is the checklist field
+	 * @param markup is the WIKI markup, that was successfully exported
+	 */
+	public void exportSucceeded(JiraTrackerSyncConfig tracker, TrackerItemDto item, TrackerLayoutLabelDto field, String markup) {
+		Long key = Fingerprints.getKey(item, field);
+		if (key != null) {
+			EXPORTED.put(key, fingerprint(tracker), ChecklistPlugin.fingerprint(markup));
+		}
+	}
+
+	/**
+	 * Export the checklist, that is stored in the specified Wiki markup, item by item,
+	 * directly from the stored markup, without copying the body or building a tree of the whole checklist
+	 * @param tracker is the JIRA tracker sync configuration
+	 * @param markup should be WIKI markup for this plugin
+	 * @param jira is the generator, where to write the JSON array of Jira checklist items,
+	 * that is the same as for {@link #exportChecklist(JiraTrackerSyncConfig, String)}, or null, if there is no checklist
+	 * @throws IOException if reading the checklist or writing the Jira checklist failed
+	 */
+	public void exportChecklist(JiraTrackerSyncConfig tracker, String markup, JsonGenerator jira) throws IOException {
+		try (JsonParser checklist = openChecklist(markup)) {
+			if (checklist != null) {
+				cb2jira(PriorityTable.of(tracker), checklist, getFormat(markup), jira);
+			} else {
+				jira.writeNull();
+			}
+		}
+	}
+
 	/**
 	 * Parse the information about JIRA checklist changes from a JIRA issue changelog <code>fromString</code> or <code>toString</code>
 	 * @param lines is a <code>fromString</code> or <code>toString</code>, that can contain multiple lines of checklist changes, one line per changed checklist item
@@ -824,60 +2051,113 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		Map<Integer,Change> result = Collections.emptyMap();
 
 		if (StringUtils.isNotBlank(lines = check4ByteChars(controller, lines))) {
-			Integer		  key = null;
-			String 		  cmd = null;
-			StringBuilder val = new StringBuilder(256);
-
 			result = new TreeMap<Integer,Change>();
 
-			for (StringTokenizer parser = new StringTokenizer(lines, "\n\r"); parser.hasMoreTokens();) {
-				String line = parser.nextToken();
-
-				if ((cmd = StringUtils.trimToNull(line)) != null) {
-					// Check if the cmd starts with a new change key:  d+)
-					for (int i = 0; i < cmd.length(); ++i) {
-						if (!Character.isDigit(cmd.charAt(i))) {
-							if (i > 0 && cmd.charAt(i) == ')') {
-								// If there is a previous open change
-								if (key != null && val.length() > 0) {
-									// Submit the change with the previous key
-									result.put(key, new Change(val.toString()));
-									val.delete(0, val.length());
-								}
+			parseItemChanges(lines, result);
+		}
 
-								// Open a new change with the new key
-								key = Integer.valueOf(cmd.substring(0, i));
-								cmd = StringUtils.trimToNull(cmd.substring(i + 1));
-							}
-							break;
-						}
+		return result;
+	}
+
+	/**
+	 * Parse the information about JIRA checklist changes from the specified text with a cursor in a single pass.<br/>
+	 * Each change is parsed directly from its range in the text, unless the change spans lines, that must be normalized,
+	 * e.g. blank lines or <code>\r\n</code> line ends, where the change is copied into a buffer first.
+	 * @param lines is a <code>fromString</code> or <code>toString</code>, that can contain multiple lines of checklist changes, one line per changed checklist item
+	 * @param result is where to put the parsed checklist item changes
+	 * @return the result
+	 */
+	protected static Map<Integer,Change> parseItemChanges(CharSequence lines, Map<Integer,Change> result) {
+		int			  length   = lines.length();
+		Integer		  key	   = null;
+		int 		  from	   = -1;	// The start of the current change value, or -1, if the value is still empty
+		int 		  to	   = -1;	// The end of the current change value, as long as the value is not buffered
+		boolean		  buffered = false;
+		StringBuilder val	   = new StringBuilder(256);
+
+		for (int start = 0, end; start < length; start = end) {
+			char c = lines.charAt(start);
+			if (c == '\n' || c == '\r') {
+				end = start + 1;
+				continue;
+			}
+
+			for (end = start + 1; end < length && (c = lines.charAt(end)) != '\n' && c != '\r'; ++end);
+
+			int cmdEnd	 = trimEnd(lines, start, end);
+			int cmdStart = trimStart(lines, start, cmdEnd);
+
+			if (cmdStart < cmdEnd) {
+				// Check if the cmd starts with a new change key:  d+)
+				int i = cmdStart;
+				while (i < cmdEnd && Character.isDigit(lines.charAt(i))) {
+					++i;
+				}
+
+				if (i > cmdStart && i < cmdEnd && lines.charAt(i) == ')') {
+					// If there is a previous open change, submit the change with the previous key
+					if (key != null && from >= 0) {
+						result.put(key, buffered ? new Change(val, 0, val.length()) : new Change(lines, from, to));
+						from	 = -1;
+						buffered = false;
 					}
+
+					// Open a new change with the new key
+					key 	 = parseKey(lines, cmdStart, i);
+					cmdStart = trimStart(lines, i + 1, cmdEnd);
 				}
+			}
+
+			if (key != null) {
+				if (from >= 0) {
+					boolean blank = (cmdStart >= cmdEnd);
 
-				if (key != null) {
-					if (val.length() > 0) {
-						val.append('\n');
-						if (cmd != null) {
-							val.append(line);
+					// Extend the change range by the next line, if it directly follows after a single line feed, otherwise switch to the buffer
+					if (!buffered) {
+						if (!blank && start == to + 1 && lines.charAt(to) == '\n') {
+							to = end;
+							continue;
 						}
-					} else if (cmd != null) {
-						val.append(cmd);
+
+						val.setLength(0);
+						val.append(lines, from, to);
+						buffered = true;
+					}
+
+					val.append('\n');
+					if (!blank) {
+						val.append(lines, start, end);
 					}
-				} else if (StringUtils.containsIgnoreCase(line, "items were reordered")) {
-					result.put(Integer.valueOf(9999), new Change("[reordered]"));
+				} else if (cmdStart < cmdEnd) {
+					from = cmdStart;
+					to	 = cmdEnd;
 				}
+			} else if (StringUtils.containsIgnoreCase(lines.subSequence(start, end), "items were reordered")) {
+				result.put(Integer.valueOf(9999), new Change("[reordered]"));
 			}
+		}
 
-			// Submit last/open change
-			if (key != null && val.length() > 0) {
-				result.put(key, new Change(val.toString()));
-				val.delete(0, val.length());
-			}
+		// Submit last/open change
+		if (key != null && from >= 0) {
+			result.put(key, buffered ? new Change(val, 0, val.length()) : new Change(lines, from, to));
 		}
 
 		return result;
 	}
 
+	private static Integer parseKey(CharSequence text, int from, int to) {
+		if (to - from > 9) {
+			return Integer.valueOf(text.subSequence(from, to).toString());
+		}
+
+		int result = 0;
+		for (int i = from; i < to; ++i) {
+			result = result * 10 + Character.digit(text.charAt(i), 10);
+		}
+
+		return Integer.valueOf(result);
+	}
+
 	/**
 	 * Find the original item (before the update), if the specified item is an update of an existing item
 	 * @param item is a newly imported or updated tracker item
@@ -922,20 +2202,131 @@ public class ChecklistForJiraField extends AbstractJsonController {
 	}
 
 	/**
-	 * Get the cache of checklists per field associated with the current import
+	 * Get a {@link LazyChecklist} handle on the {@link ChecklistPlugin} body, that is stored in the specified field of the specified item, without parsing it
+	 * @param tracker is the tracker sync configuration
+	 * @param item is the tracker item, that contains the checklist field value, or null, to use field default value
+	 * @param field is the Wiki field, that contains {@link ChecklistPlugin} markup
+	 * @return the handle on the {@link ChecklistPlugin} body, that is stored in the specified field of the specified item,
+	 * or on the field default value, if the field value does not contain a checklist body, or null, if the field is not a Wiki field
+	 */
+	public static LazyChecklist getLazyChecklist(JiraTrackerSyncConfig tracker, TrackerItemDto item, TrackerLayoutLabelDto field) {
+		LazyChecklist checklist = null;
+
+		if (field != null && field.isWikiTextField()) {
+			if (!(checklist = new LazyChecklist((String) field.getValue(item))).hasBody()) {
+				checklist = new LazyChecklist(tracker.getFieldDefaultValue(field, null));
+			}
+		}
+
+		return checklist;
+	}
+
+	/**
+	 * The key of a new item, that has no id yet, in the {@link #getItemChecklists(ImporterSupport, boolean)} cache.
+	 * Items are compared by identity, because the item equality changes, when the importer assigns the item id.
+	 */
+	protected static final class NewItemKey {
+		private final TrackerItemDto item;
+
+		public NewItemKey(TrackerItemDto item) {
+			this.item = item;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(item);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof NewItemKey && ((NewItemKey) obj).item == item;
+		}
+	}
+
+	/** The key of the checklists, that are not associated with an item, in the {@link #getItemChecklists(ImporterSupport, boolean)} cache */
+	protected static final Object NO_ITEM_KEY = new Object();
+
+	/**
+	 * Get the key of the specified item in the {@link #getItemChecklists(ImporterSupport, boolean)} cache
+	 * @param item is the current tracker item to import, or null
+	 * @return the item id, or a {@link NewItemKey}, if the item has no id yet, or the {@link #NO_ITEM_KEY}, if the item is null
+	 */
+	protected static Object getItemKey(TrackerItemDto item) {
+		return item == null ? NO_ITEM_KEY : item.getId() != null ? item.getId() : new NewItemKey(item);
+	}
+
+	/**
+	 * Get the cache of checklists per item and field associated with the current import.
+	 * The cache is thread-safe, so that items can be imported by many worker threads at once.
 	 * @param importer is the current import support/cache
 	 * @param createIfNecessary whether to create the checklists cache, if not setup yet
-	 * @return the the cache of checklists per field associated with the current import, or null, if there is no cache
+	 * @return the the cache of checklists per item and field associated with the current import, or null, if there is no cache
 	 */
-	public static Map<Integer,JsonNode> getChecklists(ImporterSupport importer, boolean createIfNecessary) {
-		Map<Integer,JsonNode> checklists = (importer != null ? (Map) importer.get(CHECKLISTS) : null);
-		if (checklists == null && importer != null && createIfNecessary) {
-			importer.put(CHECKLISTS, checklists = new HashMap<Integer,JsonNode>(4));
+	protected static ConcurrentMap<Object,ConcurrentMap<Integer,JsonNode>> getItemChecklists(ImporterSupport importer, boolean createIfNecessary) {
+		ConcurrentMap<Object,ConcurrentMap<Integer,JsonNode>> checklists = null;
+
+		if (importer != null) {
+			synchronized (importer) {
+				if ((checklists = (ConcurrentMap) importer.get(CHECKLISTS)) == null && createIfNecessary) {
+					importer.put(CHECKLISTS, checklists = new ConcurrentHashMap<Object,ConcurrentMap<Integer,JsonNode>>());
+				}
+			}
 		}
 
 		return checklists;
 	}
 
+	/**
+	 * Get the cache of checklists per field associated with the current import, that are not associated with an item
+	 * @param importer is the current import support/cache
+	 * @param createIfNecessary whether to create the checklists cache, if not setup yet
+	 * @return the the cache of checklists per field, that are not associated with an item, or null, if there is no cache
+	 * @deprecated the checklists are cached per item, use {@link #getChecklists(ImporterSupport, TrackerItemDto, boolean)}
+	 */
+	@Deprecated
+	public static Map<Integer,JsonNode> getChecklists(ImporterSupport importer, boolean createIfNecessary) {
+		return getChecklists(importer, null, createIfNecessary);
+	}
+
+	/**
+	 * Get the cache of checklists per field of the specified item associated with the current import.
+	 * Checklists cached for the item before the importer assigned the item id, are moved to the item id.
+	 * @param importer is the current import support/cache
+	 * @param item is the current tracker item to import, or null, for the checklists not associated with an item
+	 * @param createIfNecessary whether to create the checklists cache, if not setup yet
+	 * @return the the cache of checklists per field of the specified item, or null, if there is no cache
+	 */
+	public static ConcurrentMap<Integer,JsonNode> getChecklists(ImporterSupport importer, TrackerItemDto item, boolean createIfNecessary) {
+		ConcurrentMap<Object,ConcurrentMap<Integer,JsonNode>> checklists = getItemChecklists(importer, createIfNecessary);
+		ConcurrentMap<Integer,JsonNode> itemChecklists = null;
+
+		if (checklists != null) {
+			Object key = getItemKey(item);
+
+			if ((itemChecklists = checklists.get(key)) == null && key instanceof Integer) {
+				itemChecklists = checklists.remove(new NewItemKey(item));
+				if (itemChecklists != null) {
+					ConcurrentMap<Integer,JsonNode> other = checklists.putIfAbsent(key, itemChecklists);
+					if (other != null) {
+						for (Map.Entry<Integer,JsonNode> moved : itemChecklists.entrySet()) {
+							other.putIfAbsent(moved.getKey(), moved.getValue());
+						}
+						itemChecklists = other;
+					}
+				}
+			}
+
+			if (itemChecklists == null && createIfNecessary) {
+				ConcurrentMap<Integer,JsonNode> other = checklists.putIfAbsent(key, itemChecklists = new ConcurrentHashMap<Integer,JsonNode>(4));
+				if (other != null) {
+					itemChecklists = other;
+				}
+			}
+		}
+
+		return itemChecklists;
+	}
+
 	/**
 	 * Get the cached checklist for the specified field of the item to import
 	 * @param tracker is the tracker sync configuration
@@ -949,7 +2340,7 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		JsonNode checklist = null;
 
 		if (item != null && field != null && importer != null) {
-			Map<Integer,JsonNode> checklists = getChecklists(importer, true);
+			Map<Integer,JsonNode> checklists = getChecklists(importer, item, true);
 
 			if ((checklist = checklists.get(field.getId())) == null) {
 				TrackerItemDto orig = getOriginalItem(item, statistic);
@@ -977,7 +2368,7 @@ public class ChecklistForJiraField extends AbstractJsonController {
 		JsonNode result = null;
 
 		if (item != null && field != null && importer != null) {
-			Map<Integer,JsonNode> checklists = getChecklists(importer, checklist != null);
+			Map<Integer,JsonNode> checklists = getChecklists(importer, item, checklist != null);
 
 			if (checklist != null) {
 				result = checklists.put(field.getId(), checklist);
@@ -1012,15 +2403,16 @@ public class ChecklistForJiraField extends AbstractJsonController {
 			fieldChange.setOldValueObject(null);
 			fieldChange.setNewValueObject(null);
 
-			JsonNode  oldItems = getChecklist(tracker, item, field, importer, statistic);
-			Checklist modified = new Checklist(oldItems.deepCopy());
+			JsonNode  	  oldItems   = getChecklist(tracker, item, field, importer, statistic);
+			Checklist 	  modified   = Checklist.snapshot(oldItems);
+			PriorityTable priorities = PriorityTable.of(tracker);
 
 			for (Map.Entry<Integer,Change> change : newValues.entrySet()) {
 				Change newItem = change.getValue();
 				Change oldItem = oldValues.get(change.getKey());
 
 				if (newItem.wasAdded()) {
-					newItem.apply(tracker, modified.addItem());
+					newItem.apply(priorities, modified.addItem());
 				} else if (newItem.wasRemoved()) {
 					modified.removeItem(StringUtils.defaultString(oldItem != null ? oldItem.getName() : null,  newItem.getName()));
 				} else if (newItem.wasReordered()) {
@@ -1033,12 +2425,12 @@ public class ChecklistForJiraField extends AbstractJsonController {
 							node.remove(HEADER);
 						}
 
-						newItem.apply(tracker, node);
+						newItem.apply(priorities, node);
 					}
 				}
 			}
 
-			modified.applyOrder(getChecklist(tracker, item, field));
+			modified.applyOrder(getLazyChecklist(tracker, item, field));
 
 			fieldChange.setOldValue(wrapChecklist(oldItems));
 			fieldChange.setNewValue(wrapChecklist(modified.getItems()));
@@ -1049,22 +2441,46 @@ public class ChecklistForJiraField extends AbstractJsonController {
 
 	/**
 	 * Remove the cached checklist for the specified field of the specified item, after the item import is finished
-	 * @param item is the current tracker item to import
-	 * @param field is the checklist field
+	 * @param item is the current tracker item to import, or null, to remove the cached checklists of all items
+	 * @param field is the checklist field, or null, to remove the cached checklists of all fields
 	 * @param importer is the current import cache/support
 	 */
 	@CustomField.ImportFinished
 	public void resetChecklist(TrackerItemDto item, TrackerLayoutLabelDto field, ImporterSupport importer) {
-		Map<Integer,JsonNode> checklists = getChecklists(importer, false);
+		ConcurrentMap<Object,ConcurrentMap<Integer,JsonNode>> checklists = getItemChecklists(importer, false);
 		if (checklists != null) {
-			if (field != null) {
-				checklists.remove(field.getId());
+			if (item != null) {
+				ConcurrentMap<Integer,JsonNode> itemChecklists = getChecklists(importer, item, false);
+				if (itemChecklists != null) {
+					resetChecklist(checklists, getItemKey(item), itemChecklists, field);
+				}
+			} else if (field != null) {
+				for (Map.Entry<Object,ConcurrentMap<Integer,JsonNode>> itemChecklists : checklists.entrySet()) {
+					resetChecklist(checklists, itemChecklists.getKey(), itemChecklists.getValue(), field);
+				}
 			} else {
 				checklists.clear();
 			}
 		}
 	}
 
+	/**
+	 * Remove the cached checklist for the specified field from the specified item checklists, and the item checklists, once they are empty
+	 * @param checklists is the cache of checklists per item and field
+	 * @param key is the key of the item in the cache
+	 * @param itemChecklists are the cached checklists of the item
+	 * @param field is the checklist field, or null, to remove all cached checklists of the item
+	 */
+	private static void resetChecklist(ConcurrentMap<Object,ConcurrentMap<Integer,JsonNode>> checklists, Object key, ConcurrentMap<Integer,JsonNode> itemChecklists, TrackerLayoutLabelDto field) {
+		if (field != null) {
+			itemChecklists.remove(field.getId());
+		}
+
+		if (field == null || itemChecklists.isEmpty()) {
+			checklists.remove(key, itemChecklists);
+		}
+	}
+
 	@Override
 	protected Logger getLogger() {
 		return logger;
@@ -29,7 +29,11 @@
  */
 package com.intland.codebeamer.extensions.jira;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,6 +54,417 @@ import com.intland.codebeamer.utils.RegexpUtils.IReplacementLogic;
 public class ChecklistForJiraMarkup {
 	public static final Logger logger = Logger.getLogger(ChecklistForJiraMarkup.class);
 
+	/**
+	 * Statistics about the markup conversions in one direction
+	 */
+	public static class Statistics {
+		private final String    direction;
+		private final LongAdder plain    = new LongAdder();
+		private final LongAdder markup   = new LongAdder();
+		private final LongAdder exceeded = new LongAdder();
+		private final LongAdder failed   = new LongAdder();
+
+		public Statistics(String direction) {
+			this.direction = direction;
+		}
+
+		/**
+		 * @return the number of texts, that did not contain any trigger character, and were returned unchanged without conversion
+		 */
+		public long getPlainText() {
+			return plain.sum();
+		}
+
+		/**
+		 * @return the number of texts, that contained trigger characters, and had to be scanned for markup
+		 */
+		public long getMarkupText() {
+			return markup.sum();
+		}
+
+		/**
+		 * @return the number of texts, that exceeded the {@link Guard} budget, and were returned unchanged without conversion
+		 */
+		public long getExceeded() {
+			return exceeded.sum();
+		}
+
+		/**
+		 * @return the number of texts, whose conversion failed with an exception, and were returned unchanged
+		 */
+		public long getFailed() {
+			return failed.sum();
+		}
+
+		public void reset() {
+			plain.reset();
+			markup.reset();
+			exceeded.reset();
+			failed.reset();
+		}
+
+		@Override
+		public String toString() {
+			return direction + ": plain=" + getPlainText() + ", markup=" + getMarkupText() + ", exceeded=" + getExceeded() + ", failed=" + getFailed();
+		}
+	}
+
+	/** Statistics about the conversions of Checklist for JIRA markup into codeBeamer Wiki markup */
+	public static final Statistics CHECKLIST_2_CB_STATISTICS = new Statistics("checklist2cb");
+
+	/** Statistics about the conversions of codeBeamer Wiki markup into Checklist for JIRA markup */
+	public static final Statistics CB_2_CHECKLIST_STATISTICS = new Statistics("cb2checklist");
+
+	/**
+	 * A bounded, thread-safe, least recently used cache of markup conversion results, keyed on the text to convert.
+	 * <p>Checklist templates cause the same item texts to be converted over and over again, so a repeated text only costs a hash lookup.
+	 * Texts longer than {@link #getMaxLength()} are not cached, and a capacity of 0 disables the cache.</p>
+	 * <p>The cache is split into up to {@link #MAX_STRIPES} stripes by text hash, each with its own lock and least recently used order,
+	 * so that parallel conversions do not contend on a single lock. Small caches have a single stripe, and are therefore exactly least recently used.</p>
+	 */
+	public static class Cache {
+		/** The maximum number of stripes */
+		public static final int MAX_STRIPES 		= 16;
+
+		/** The minimum capacity of a stripe */
+		public static final int MIN_STRIPE_CAPACITY = 64;
+
+		/**
+		 * A stripe of the cache: an access ordered map, that evicts its least recently used entry, when its capacity is exceeded
+		 */
+		private final class Stripe extends LinkedHashMap<String,String> {
+			private static final long serialVersionUID = 1L;
+
+			private final int capacity;
+
+			Stripe(int capacity) {
+				super(64, 0.75f, true);
+				this.capacity = capacity;
+			}
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,String> eldest) {
+				if (size() > capacity) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		}
+
+		private volatile Stripe[] stripes;
+		private volatile int      capacity;
+		private volatile int      maxLength = 1024;
+		private final LongAdder   hits	    = new LongAdder();
+		private final LongAdder   misses	= new LongAdder();
+		private final LongAdder   evictions = new LongAdder();
+
+		public Cache(int capacity) {
+			this.capacity = Math.max(0, capacity);
+			this.stripes  = createStripes(this.capacity);
+		}
+
+		/**
+		 * Create the stripes for the specified total capacity
+		 * @param capacity is the total cache capacity
+		 * @return a power of 2 number of stripes, with a total capacity of the specified capacity
+		 */
+		private Stripe[] createStripes(int capacity) {
+			int count = 1;
+			while (count < MAX_STRIPES && capacity / (count * 2) >= MIN_STRIPE_CAPACITY) {
+				count *= 2;
+			}
+
+			Stripe[] result = new Stripe[count];
+			for (int i = 0; i < count; ++i) {
+				result[i] = new Stripe(capacity / count + (i < capacity % count ? 1 : 0));
+			}
+
+			return result;
+		}
+
+		/**
+		 * Get the stripe for the specified text
+		 * @param stripes are the stripes of the cache
+		 * @param text to convert
+		 * @return the stripe, that caches the conversion result for the specified text
+		 */
+		private static Stripe getStripe(Stripe[] stripes, String text) {
+			int hash = text.hashCode();
+			return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		/**
+		 * Set the maximum number of cached conversion results
+		 * @param capacity is the new cache capacity, 0 disables the cache
+		 */
+		public synchronized void setCapacity(int capacity) {
+			Stripe[] resized = createStripes(Math.max(0, capacity));
+
+			// Move the cached entries, least recently used first, so that the entries exceeding the new capacity are evicted
+			for (Stripe stripe : stripes) {
+				synchronized (stripe) {
+					for (Map.Entry<String,String> entry : stripe.entrySet()) {
+						getStripe(resized, entry.getKey()).put(entry.getKey(), entry.getValue());
+					}
+				}
+			}
+
+			this.capacity = Math.max(0, capacity);
+			this.stripes  = resized;
+		}
+
+		public int getMaxLength() {
+			return maxLength;
+		}
+
+		/**
+		 * Set the maximum length of texts, whose conversion result is cached
+		 * @param maxLength is the maximum text length
+		 */
+		public void setMaxLength(int maxLength) {
+			this.maxLength = maxLength;
+		}
+
+		public boolean isEnabled() {
+			return capacity > 0;
+		}
+
+		/**
+		 * Check if the conversion result for the specified text can be cached
+		 * @param text to convert
+		 * @return true if the cache is enabled, and the text is not too long to be cached
+		 */
+		public boolean isCacheable(String text) {
+			return capacity > 0 && text != null && text.length() <= maxLength;
+		}
+
+		/**
+		 * Get the cached conversion result for the specified text
+		 * @param text to convert
+		 * @return the cached conversion result, or null, if the conversion of this text is not cached
+		 */
+		public String get(String text) {
+			if (isCacheable(text)) {
+				Stripe stripe = getStripe(stripes, text);
+				String result;
+				synchronized (stripe) {
+					result = stripe.get(text);
+				}
+
+				if (result != null) {
+					hits.increment();
+				} else {
+					misses.increment();
+				}
+
+				return result;
+			}
+
+			return null;
+		}
+
+		/**
+		 * Cache the result of the conversion of the specified text
+		 * @param text that was converted
+		 * @param result of the conversion
+		 */
+		public void put(String text, String result) {
+			if (isCacheable(text) && result != null) {
+				Stripe stripe = getStripe(stripes, text);
+				synchronized (stripe) {
+					stripe.put(text, result);
+				}
+			}
+		}
+
+		public int size() {
+			int size = 0;
+
+			for (Stripe stripe : stripes) {
+				synchronized (stripe) {
+					size += stripe.size();
+				}
+			}
+
+			return size;
+		}
+
+		public void clear() {
+			for (Stripe stripe : stripes) {
+				synchronized (stripe) {
+					stripe.clear();
+				}
+			}
+		}
+
+		public long getHits() {
+			return hits.sum();
+		}
+
+		public long getMisses() {
+			return misses.sum();
+		}
+
+		public long getEvictions() {
+			return evictions.sum();
+		}
+
+		public void resetStatistics() {
+			hits.reset();
+			misses.reset();
+			evictions.reset();
+		}
+
+		@Override
+		public String toString() {
+			return "size=" + size() + "/" + capacity + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions();
+		}
+	}
+
+	/** The cache of conversions of Checklist for JIRA markup into codeBeamer Wiki markup */
+	public static final Cache CHECKLIST_2_CB_CACHE = new Cache(1000);
+
+	/** The cache of conversions of codeBeamer Wiki markup into Checklist for JIRA markup */
+	public static final Cache CB_2_CHECKLIST_CACHE = new Cache(1000);
+
+	/**
+	 * The budget for a single markup conversion call.
+	 * <p>Texts longer than {@link #getMaxLength()} characters are not scanned at all, and a conversion is abandoned,
+	 * as soon as it would convert more than {@link #getMaxSteps()} markup elements.
+	 * In both cases the text is passed through unconverted, and only a short sample of the text is logged.</p>
+	 */
+	public static class Guard {
+		private volatile int maxLength;
+		private volatile int maxSteps;
+		private volatile int sampleLength = 80;
+
+		public Guard(int maxLength, int maxSteps) {
+			setMaxLength(maxLength);
+			setMaxSteps(maxSteps);
+		}
+
+		public int getMaxLength() {
+			return maxLength;
+		}
+
+		/**
+		 * Set the maximum length of a text to convert
+		 * @param maxLength is the maximum number of characters of a text to convert
+		 */
+		public void setMaxLength(int maxLength) {
+			this.maxLength = Math.max(0, maxLength);
+		}
+
+		public int getMaxSteps() {
+			return maxSteps;
+		}
+
+		/**
+		 * Set the maximum number of markup elements to convert in a single text
+		 * @param maxSteps is the maximum number of markup elements to convert in a single text
+		 */
+		public void setMaxSteps(int maxSteps) {
+			this.maxSteps = Math.max(0, maxSteps);
+		}
+
+		public int getSampleLength() {
+			return sampleLength;
+		}
+
+		/**
+		 * Set the maximum number of characters of a text to log
+		 * @param sampleLength is the maximum number of characters of a text to log
+		 */
+		public void setSampleLength(int sampleLength) {
+			this.sampleLength = Math.max(4, sampleLength);
+		}
+
+		/**
+		 * Get a sample of the specified text for logging
+		 * @param text to get a sample of
+		 * @return the text, truncated to at most {@link #getSampleLength()} characters, plus the length of the text
+		 */
+		public String sample(CharSequence text) {
+			if (text == null) {
+				return null;
+			}
+
+			StringBuilder sample = new StringBuilder(sampleLength + 24).append('"');
+			if (text.length() > sampleLength) {
+				sample.append(text, 0, sampleLength - 3).append("...");
+			} else {
+				sample.append(text);
+			}
+
+			return sample.append("\" (").append(text.length()).append(" chars)").toString();
+		}
+
+		protected void exceeded(Statistics statistics, CharSequence markup, String budget) {
+			statistics.exceeded.increment();
+
+			logger.warn(statistics.direction + ": " + budget + " budget exceeded (" + statistics.getExceeded() + " times), passing through unconverted: " + sample(markup));
+		}
+
+		protected void failed(Statistics statistics, CharSequence markup, Throwable ex) {
+			statistics.failed.increment();
+
+			logger.warn(statistics.direction + ": conversion failed (" + statistics.getFailed() + " times), passing through unconverted: " + sample(markup), ex);
+		}
+	}
+
+	/** The budget for markup conversions in both directions: At most 1M characters and 100000 markup elements per text */
+	public static final Guard CONVERSION_GUARD = new Guard(1 << 20, 100000);
+
+	/** Result of a single pass markup scanner, if the range cannot be converted */
+	private static final int UNCONVERTIBLE 	 = -1;
+
+	/** Result of a single pass markup scanner, if the range contains more markup elements than the {@link Guard#getMaxSteps()} */
+	private static final int BUDGET_EXCEEDED = -2;
+
+	/**
+	 * Build a lookup table for the specified ASCII trigger characters
+	 */
+	private static boolean[] getTriggers(String triggers) {
+		boolean[] result = new boolean[128];
+		for (int i = 0; i < triggers.length(); ++i) {
+			result[triggers.charAt(i)] = true;
+		}
+		return result;
+	}
+
+	/**
+	 * Check if the specified text contains any of the specified trigger characters, or a line starting with 4 spaces (if indent is true)
+	 */
+	private static boolean hasTriggers(CharSequence text, boolean[] triggers, boolean indent) {
+		int spaces = 0;
+
+		for (int idx = 0, len = text.length(); idx < len; ++idx) {
+			char ch = text.charAt(idx);
+			if (ch < 128 && triggers[ch]) {
+				return true;
+			}
+
+			if (indent) {
+				if (ch == '\n') {
+					spaces = 0;
+				} else if (ch == ' ' && spaces >= 0) {
+					if (++spaces == 4) {
+						return true;
+					}
+				} else {
+					spaces = -1;
+				}
+			}
+		}
+
+		return false;
+	}
+
 	public static final String  CHECKLIST_LINK_EXPR 		= "\\!?\\[(.+?)\\]\\s*\\((.+?)\\)";
 	public static final String  CHECKLIST_HEADER_PATTERN	= "(?<=^|\\n)[#]+[ \t]+";
 	public static final String  CHECKLIST_ITALIC_PATTERN	= "(?<=^|\\s)\\*([^\\s*][^*]*)\\*(?=$|[\\s.:;,_!?)}\\]\"%/~+-])";
@@ -64,7 +479,25 @@ public class ChecklistForJiraMarkup {
 																CHECKLIST_CODE_PATTERN
 															  ), '|'), Pattern.DOTALL);
 
+	/** Characters, that can start Checklist for JIRA markup, besides 4 spaces at the start of a line */
+	private static final boolean[] CHECKLIST_TRIGGERS 		= getTriggers("*#[!");
+
+	/**
+	 * Check if the specified text can contain Checklist for JIRA markup
+	 * @param text to check
+	 * @return true if the text contains a markup trigger character or indented code, false if the text is plain text
+	 */
+	public static boolean hasChecklistMarkup(CharSequence text) {
+		return text != null && hasTriggers(text, CHECKLIST_TRIGGERS, true);
+	}
+
 
+	/**
+	 * The regular expression based conversion of Checklist for JIRA markup into codeBeamer Wiki markup
+	 * @deprecated {@link #checklist2cb(String)} now uses a single pass scanner, that produces the same result in linear time.
+	 * This is only kept as the reference definition of the conversion.
+	 */
+	@Deprecated
 	public static final IReplacementLogic CHECKLIST_2_CB = new IReplacementLogic() {
 		@Override
 		public String getReplacement(Matcher matcher) {
@@ -95,20 +528,322 @@ public class ChecklistForJiraMarkup {
 		}
 	};
 
-	public static String checklist2cb(String markup) {
-		String result = markup;
+	private static boolean isWhitespace(char ch) {
+		return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+	}
+
+	private static boolean isLineTerminator(char ch) {
+		return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+	}
+
+	/**
+	 * Check if the specified position is the end of the markup, or a character that may follow after emphasized text
+	 * (the lookahead of {@link #CHECKLIST_ITALIC_PATTERN} and {@link #CHECKLIST_BOLD_PATTERN})
+	 */
+	private static boolean isEmphasisEnd(CharSequence markup, int idx, int end) {
+		if (idx >= end) {
+			return true;
+		}
+
+		char ch = markup.charAt(idx);
+		if (isWhitespace(ch) || ".:;,_!?)}]\"%/~+-".indexOf(ch) >= 0) {
+			return true;
+		}
+
+		// A final line terminator also matches $
+		return idx == end - 1 && isLineTerminator(ch);
+	}
 
-		if (StringUtils.isNotBlank(markup)) {
-			try {
-				result = RegexpUtils.replaceAllRegexpMatches(result, CHECKLIST_MARKUP_PATTERN, CHECKLIST_2_CB);
-			} catch (Throwable ex) {
-				logger.warn("checklist2cb(" + markup + ") failed", ex);
+	private static boolean isBlank(CharSequence markup, int from, int end) {
+		for (int idx = from; idx < end; ++idx) {
+			if (!Character.isWhitespace(markup.charAt(idx))) {
+				return false;
 			}
 		}
+		return true;
+	}
+
+	private static int indexOf(CharSequence markup, char ch, int from, int end) {
+		for (int idx = from; idx < end; ++idx) {
+			if (markup.charAt(idx) == ch) {
+				return idx;
+			}
+		}
+		return end;
+	}
+
+	private static int skipWhitespace(CharSequence markup, int from, int end) {
+		while (from < end && isWhitespace(markup.charAt(from))) {
+			++from;
+		}
+		return from;
+	}
+
+	/**
+	 * Find the first <code>]</code>, that is followed by optional whitespace and an opening <code>(</code>
+	 * @return the index of the <code>]</code>, or end, if there is no such <code>]</code>
+	 */
+	private static int indexOfLinkAlias(CharSequence markup, int from, int end) {
+		for (int idx = from; idx < end; ++idx) {
+			if (markup.charAt(idx) == ']') {
+				int open = skipWhitespace(markup, idx + 1, end);
+				if (open < end && markup.charAt(open) == '(') {
+					return idx;
+				}
+				idx = open - 1;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Convert the specified range of Checklist for JIRA markup into codeBeamer Wiki markup in a single pass.
+	 * <p>The result is the same as replacing all {@link #CHECKLIST_MARKUP_PATTERN} matches in the range via {@link #CHECKLIST_2_CB},
+	 * but each forward search for a closing delimiter remembers its last result, so that the time is linear in the length of the range,
+	 * even for unbalanced delimiters. Only the emphasized text of bold or italic markup is scanned a second time.</p>
+	 * @param markup is the Checklist for JIRA markup to convert
+	 * @param from is the start index of the range to convert
+	 * @param to is the end index (exclusive) of the range to convert
+	 * @param result is the buffer, where to append the converted range
+	 * @param budget is the maximum number of markup elements to convert
+	 * @return the number of converted markup elements, or {@link #UNCONVERTIBLE} or {@link #BUDGET_EXCEEDED}
+	 */
+	private static int checklist2cb(CharSequence markup, int from, int to, StringBuilder result, int budget) {
+		int converted  = 0;
+		int copied     = from;
+		int aliasClose = -1;
+		int linkOpen   = to;
+		int linkClose  = -1;
+		int starClose  = -1;
+
+		for (int idx = from; idx < to;) {
+			char ch  = markup.charAt(idx);
+			int  end = -1;
+
+			if (ch == '[' || (ch == '!' && idx + 1 < to && markup.charAt(idx + 1) == '[')) { // (Image) Link
+				int open = (ch == '!' ? idx + 1 : idx);
+				if (open + 2 > aliasClose) {
+					aliasClose = indexOfLinkAlias(markup, open + 2, to);
+					linkOpen   = skipWhitespace(markup, Math.min(aliasClose + 1, to), to);
+				}
+
+				if (aliasClose < to) {
+					if (linkOpen + 2 > linkClose) {
+						linkClose = indexOf(markup, ')', linkOpen + 2, to);
+					}
+
+					if (linkClose < to) {
+						result.append(markup, copied, idx).append('[');
+
+						if (!isBlank(markup, open + 1, aliasClose)) {
+							result.append(markup, open + 1, aliasClose).append('|');
+						}
+
+						result.append(markup, linkOpen + 1, linkClose).append(']');
+
+						end = linkClose + 1;
+					}
+				}
+			} else if (ch == '#' && (idx == from || markup.charAt(idx - 1) == '\n')) { // Heading
+				int level = idx;
+				while (level < to && markup.charAt(level) == '#') {
+					++level;
+				}
+
+				int text = level;
+				while (text < to && (markup.charAt(text) == ' ' || markup.charAt(text) == '\t')) {
+					++text;
+				}
+
+				if (text > level) {
+					result.append(markup, copied, idx).append('!').append(level - idx).append(' ');
+					end = text;
+				}
+			} else if (ch == '*' && (idx == from || isWhitespace(markup.charAt(idx - 1)))) { // Bold or Italic
+				boolean bold  = (idx + 1 < to && markup.charAt(idx + 1) == '*');
+				int     start = (bold ? idx + 2 : idx + 1);
+
+				if (start < to && !isWhitespace(markup.charAt(start)) && markup.charAt(start) != '*') {
+					if (start + 1 > starClose) {
+						starClose = indexOf(markup, '*', start + 1, to);
+					}
+
+					if (starClose < to) {
+						int close = (bold ? starClose + 2 : starClose + 1);
+
+						if ((!bold || (close <= to && markup.charAt(starClose + 1) == '*')) && isEmphasisEnd(markup, close, to)) {
+							String emphasis = (bold ? "__" : "''");
+
+							result.append(markup, copied, idx).append(emphasis);
+
+							int nested = checklist2cb(markup, start, starClose, result, budget - converted - 1);
+							if (nested < 0) {
+								return nested;
+							}
+							converted += nested;
+
+							result.append(emphasis);
+
+							end = close;
+						}
+					}
+				}
+			} else if (ch == ' ' && (idx == from || markup.charAt(idx - 1) == '\n') && idx + 4 < to
+								 && markup.charAt(idx + 1) == ' ' && markup.charAt(idx + 2) == ' ' && markup.charAt(idx + 3) == ' ') { // Code
+				// The code is at least one character, up to the end of the line
+				for (end = idx + 5; end < to; ++end) {
+					char eol = markup.charAt(end);
+					if (eol == '\r' || eol == '\n' || (end == to - 1 && isLineTerminator(eol))) {
+						break;
+					}
+				}
+
+				int text = idx;
+				while (text < end && markup.charAt(text) <= ' ') {
+					++text;
+				}
+
+				result.append(markup, copied, idx);
+
+				// CHECKLIST_2_CB checks the trimmed match for heading, bold and italic markup, before checking for code
+				if (text < end && markup.charAt(text) == '#') {
+					int last = end - 1;
+					while (markup.charAt(last) <= ' ') {
+						--last;
+					}
+
+					result.append('!').append(last - text + 1).append(' ');
+				} else if (text < end && markup.charAt(text) == '*') {
+					return UNCONVERTIBLE;
+				} else {
+					result.append("{{{").append(markup, idx + 4, end).append("}}}");
+				}
+			}
+
+			if (end > idx) {
+				copied = idx = end;
+
+				if (++converted > budget) {
+					return BUDGET_EXCEEDED;
+				}
+			} else {
+				++idx;
+			}
+		}
+
+		result.append(markup, copied, to);
+
+		return converted;
+	}
+
+	/**
+	 * Convert <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>
+	 * into codeBeamer Wiki Markup
+	 * @param markup is the Checklist for JIRA markup to convert
+	 * @return the converted codeBeamer Wiki markup
+	 */
+	public static String checklist2cb(String markup) {
+		CharSequence result = checklist2cb(markup, null, 0);
+		return result != null ? result.toString() : null;
+	}
+
+	/**
+	 * Convert <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>
+	 * into codeBeamer Wiki Markup,
+	 * and append the result directly to the specified buffer, instead of creating a new String
+	 * @param markup is the Checklist for JIRA markup to convert, or null
+	 * @param result is the buffer, where to append the converted codeBeamer Wiki markup
+	 * @return the result buffer
+	 */
+	public static StringBuilder checklist2cb(CharSequence markup, StringBuilder result) {
+		CharSequence converted = checklist2cb(markup, result, result.length());
+		if (converted != result && converted != null) {
+			result.append(converted);
+		}
+		return result;
+	}
+
+	/**
+	 * Convert <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>
+	 * into codeBeamer Wiki Markup,
+	 * and append the result to the specified {@link Appendable}
+	 * @param markup is the Checklist for JIRA markup to convert, or null
+	 * @param result is where to append the converted codeBeamer Wiki markup
+	 * @return the result
+	 * @throws IOException if appending the result failed
+	 */
+	public static Appendable checklist2cb(CharSequence markup, Appendable result) throws IOException {
+		if (result instanceof StringBuilder) {
+			checklist2cb(markup, (StringBuilder) result);
+		} else if (markup != null) {
+			result.append(checklist2cb(markup.toString()));
+		}
 
 		return result;
 	}
 
+	/**
+	 * Convert Checklist for JIRA markup within the {@link #CONVERSION_GUARD} budget
+	 * @param markup is the Checklist for JIRA markup to convert, or null
+	 * @param result is the buffer, where to append the converted codeBeamer Wiki markup, or null to allocate a new buffer on demand
+	 * @param start is the length of the result buffer before the conversion
+	 * @return the unchanged markup or the (cached) conversion result, that were not appended to the buffer,
+	 * or the buffer, where the converted markup was appended to
+	 */
+	private static CharSequence checklist2cb(CharSequence markup, StringBuilder result, int start) {
+		if (StringUtils.isBlank(markup)) {
+			return markup;
+		}
+
+		if (markup.length() > CONVERSION_GUARD.getMaxLength()) {
+			CONVERSION_GUARD.exceeded(CHECKLIST_2_CB_STATISTICS, markup, "length");
+			return markup;
+		}
+
+		if (!hasChecklistMarkup(markup)) {
+			CHECKLIST_2_CB_STATISTICS.plain.increment();
+			return markup;
+		}
+
+		CHECKLIST_2_CB_STATISTICS.markup.increment();
+
+		String text   = (markup instanceof String ? (String) markup : null);
+		String cached = (text != null ? CHECKLIST_2_CB_CACHE.get(text) : null);
+		if (cached != null) {
+			return cached;
+		}
+
+		CharSequence converted = markup;
+		boolean      allocated = (result == null);
+
+		if (allocated) {
+			result = new StringBuilder(markup.length() + 16);
+		}
+
+		try {
+			int steps = checklist2cb(markup, 0, markup.length(), result, CONVERSION_GUARD.getMaxSteps());
+			if (steps == BUDGET_EXCEEDED) {
+				CONVERSION_GUARD.exceeded(CHECKLIST_2_CB_STATISTICS, markup, "step");
+			} else if (steps > 0) {
+				converted = result;
+			}
+		} catch (Throwable ex) {
+			CONVERSION_GUARD.failed(CHECKLIST_2_CB_STATISTICS, markup, ex);
+		}
+
+		if (converted != result) {
+			result.setLength(start);
+		} else if (allocated) {
+			converted = result.toString();
+		}
+
+		if (CHECKLIST_2_CB_CACHE.isCacheable(text)) {
+			CHECKLIST_2_CB_CACHE.put(text, converted == result ? result.substring(start) : converted.toString());
+		}
+
+		return converted;
+	}
+
 
 	public static final String  CB_LINK_EXPR 		= "\\[(?:(.+?)\\|)?(.+?)\\]";
 	public static final String  CB_HEADER_PATTERN	= "(?<=^|\\n)\\!([1-6])";
@@ -124,7 +859,25 @@ public class ChecklistForJiraMarkup {
 														CB_CODE_PATTERN
 													  ), '|'), Pattern.DOTALL);
 
+	/** Characters, that can start codeBeamer Wiki markup */
+	private static final boolean[] CB_TRIGGERS		= getTriggers("[!'_{");
+
+	/**
+	 * Check if the specified text can contain codeBeamer Wiki markup
+	 * @param text to check
+	 * @return true if the text contains a markup trigger character, false if the text is plain text
+	 */
+	public static boolean hasCBMarkup(CharSequence text) {
+		return text != null && hasTriggers(text, CB_TRIGGERS, false);
+	}
+
 
+	/**
+	 * The regular expression based conversion of codeBeamer Wiki markup into Checklist for JIRA markup
+	 * @deprecated {@link #cb2checklist(String)} now uses a single pass scanner, that produces the same result in linear time.
+	 * This is only kept as the reference definition of the conversion.
+	 */
+	@Deprecated
 	public static final IReplacementLogic CB_2_CHECKLIST = new IReplacementLogic() {
 		@Override
 		public String getReplacement(Matcher matcher) {
@@ -153,19 +906,287 @@ public class ChecklistForJiraMarkup {
 	};
 
 
-	public static String cb2checklist(String markup) {
-		String result = markup;
+	private static int indexOfPair(CharSequence markup, char ch, int from, int end) {
+		for (int idx = from; idx < end - 1; ++idx) {
+			if (markup.charAt(idx) == ch && markup.charAt(idx + 1) == ch) {
+				return idx;
+			}
+		}
+		return end;
+	}
 
-		if (StringUtils.isNotBlank(markup)) {
-			try {
-				result = RegexpUtils.replaceAllRegexpMatches(result, CB_MARKUP_PATTERN, CB_2_CHECKLIST);
-			} catch (Throwable ex) {
-				logger.warn("cb2checklist2(" + markup + ") failed", ex);
+	private static int indexOfCodeEnd(CharSequence markup, int from, int end) {
+		for (int idx = from; idx < end - 2; ++idx) {
+			if (markup.charAt(idx) == '}' && markup.charAt(idx + 1) == '}' && markup.charAt(idx + 2) == '}') {
+				return idx;
 			}
 		}
+		return end;
+	}
+
+	private static final String[] IMAGE_SUFFIXES = {".jpg", "jpeg", ".gif", ".png", ".bmp"};
+
+	private static boolean isImage(CharSequence markup, int from, int end) {
+		for (String suffix : IMAGE_SUFFIXES) {
+			int start = end - suffix.length();
+			if (start >= from) {
+				int idx = 0;
+				while (idx < suffix.length() && markup.charAt(start + idx) == suffix.charAt(idx)) {
+					++idx;
+				}
+
+				if (idx == suffix.length()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Convert the specified range of codeBeamer Wiki markup into Checklist for JIRA markup in a single pass.
+	 * <p>The result is the same as replacing all {@link #CB_MARKUP_PATTERN} matches in the range via {@link #CB_2_CHECKLIST},
+	 * but each forward search for a closing delimiter remembers its last result, so that the time is linear in the length of the range,
+	 * even for long runs of unmatched <code>[</code>, <code>''</code> or <code>__</code>.
+	 * Only the emphasized text of bold or italic markup is scanned a second time.</p>
+	 * @param markup is the codeBeamer Wiki markup to convert
+	 * @param from is the start index of the range to convert
+	 * @param to is the end index (exclusive) of the range to convert
+	 * @param result is the buffer, where to append the converted range
+	 * @param budget is the maximum number of markup elements to convert
+	 * @return the number of converted markup elements, or {@link #BUDGET_EXCEEDED}
+	 */
+	private static int cb2checklist(CharSequence markup, int from, int to, StringBuilder result, int budget) {
+		int converted   = 0;
+		int copied      = from;
+		int aliasSep    = -1;
+		int aliasClose  = -1;
+		int linkClose   = -1;
+		int italicClose = -1;
+		int boldClose   = -1;
+		int codeClose   = -1;
+
+		for (int idx = from; idx < to;) {
+			char ch  = markup.charAt(idx);
+			int  end = -1;
+
+			if (ch == '[') { // (Image) Link, with an optional alias
+				if (idx + 2 > aliasSep) {
+					aliasSep = indexOf(markup, '|', idx + 2, to);
+				}
+
+				int alias = to;
+				int close = to;
+
+				if (aliasSep < to) {
+					if (aliasSep + 2 > aliasClose) {
+						aliasClose = indexOf(markup, ']', aliasSep + 2, to);
+					}
+
+					if (aliasClose < to) {
+						alias = aliasSep;
+						close = aliasClose;
+					}
+				}
+
+				if (close >= to) {
+					if (idx + 2 > linkClose) {
+						linkClose = indexOf(markup, ']', idx + 2, to);
+					}
+					close = linkClose;
+				}
+
+				if (close < to) {
+					int link = (alias < to ? alias + 1 : idx + 1);
+
+					result.append(markup, copied, idx).append(isImage(markup, link, close) ? "![" : "[");
+
+					if (alias < to && !isBlank(markup, idx + 1, alias)) {
+						result.append(markup, idx + 1, alias);
+					} else {
+						result.append(markup, link, close);
+					}
+
+					result.append("](").append(markup, link, close).append(')');
+
+					end = close + 1;
+				}
+			} else if (ch == '!' && (idx == from || markup.charAt(idx - 1) == '\n')) { // Heading
+				if (idx + 1 < to && markup.charAt(idx + 1) >= '1' && markup.charAt(idx + 1) <= '6') {
+					result.append(markup, copied, idx);
+
+					for (int level = markup.charAt(idx + 1) - '0'; level > 0; --level) {
+						result.append('#');
+					}
+
+					end = idx + 2;
+				}
+			} else if ((ch == '\'' || ch == '_') && idx + 1 < to && markup.charAt(idx + 1) == ch) { // Italic or Bold
+				int close;
+
+				if (ch == '\'') {
+					if (idx + 3 > italicClose) {
+						italicClose = indexOfPair(markup, ch, idx + 3, to);
+					}
+					close = italicClose;
+				} else {
+					if (idx + 3 > boldClose) {
+						boldClose = indexOfPair(markup, ch, idx + 3, to);
+					}
+					close = boldClose;
+				}
+
+				if (close < to) {
+					String emphasis = (ch == '_' ? "**" : "*");
+
+					result.append(markup, copied, idx).append(emphasis);
+
+					int nested = cb2checklist(markup, idx + 2, close, result, budget - converted - 1);
+					if (nested < 0) {
+						return nested;
+					}
+					converted += nested;
+
+					result.append(emphasis);
+
+					end = close + 2;
+				}
+			} else if (ch == '{' && (idx == from || markup.charAt(idx - 1) == '\n') && idx + 2 < to
+								 && markup.charAt(idx + 1) == '{' && markup.charAt(idx + 2) == '{') { // Code
+				if (idx + 4 > codeClose) {
+					codeClose = indexOfCodeEnd(markup, idx + 4, to);
+				}
+
+				if (codeClose < to) {
+					result.append(markup, copied, idx).append("    ").append(markup, idx + 3, codeClose);
+
+					end = codeClose + 3;
+				}
+			}
+
+			if (end > idx) {
+				copied = idx = end;
+
+				if (++converted > budget) {
+					return BUDGET_EXCEEDED;
+				}
+			} else {
+				++idx;
+			}
+		}
+
+		result.append(markup, copied, to);
+
+		return converted;
+	}
+
+	/**
+	 * Convert codeBeamer Wiki Markup
+	 * into <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>
+	 * @param markup is the codeBeamer Wiki markup to convert
+	 * @return the converted Checklist for JIRA markup
+	 */
+	public static String cb2checklist(String markup) {
+		CharSequence result = cb2checklist(markup, null, 0);
+		return result != null ? result.toString() : null;
+	}
+
+	/**
+	 * Convert codeBeamer Wiki Markup
+	 * into <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>,
+	 * and append the result directly to the specified buffer, instead of creating a new String
+	 * @param markup is the codeBeamer Wiki markup to convert, or null
+	 * @param result is the buffer, where to append the converted Checklist for JIRA markup
+	 * @return the result buffer
+	 */
+	public static StringBuilder cb2checklist(CharSequence markup, StringBuilder result) {
+		CharSequence converted = cb2checklist(markup, result, result.length());
+		if (converted != result && converted != null) {
+			result.append(converted);
+		}
+		return result;
+	}
+
+	/**
+	 * Convert codeBeamer Wiki Markup
+	 * into <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>,
+	 * and append the result to the specified {@link Appendable}
+	 * @param markup is the codeBeamer Wiki markup to convert, or null
+	 * @param result is where to append the converted Checklist for JIRA markup
+	 * @return the result
+	 * @throws IOException if appending the result failed
+	 */
+	public static Appendable cb2checklist(CharSequence markup, Appendable result) throws IOException {
+		if (result instanceof StringBuilder) {
+			cb2checklist(markup, (StringBuilder) result);
+		} else if (markup != null) {
+			result.append(cb2checklist(markup.toString()));
+		}
 
 		return result;
 	}
 
+	/**
+	 * Convert codeBeamer Wiki markup within the {@link #CONVERSION_GUARD} budget
+	 * @param markup is the codeBeamer Wiki markup to convert, or null
+	 * @param result is the buffer, where to append the converted Checklist for JIRA markup, or null to allocate a new buffer on demand
+	 * @param start is the length of the result buffer before the conversion
+	 * @return the unchanged markup or the (cached) conversion result, that were not appended to the buffer,
+	 * or the buffer, where the converted markup was appended to
+	 */
+	private static CharSequence cb2checklist(CharSequence markup, StringBuilder result, int start) {
+		if (StringUtils.isBlank(markup)) {
+			return markup;
+		}
+
+		if (markup.length() > CONVERSION_GUARD.getMaxLength()) {
+			CONVERSION_GUARD.exceeded(CB_2_CHECKLIST_STATISTICS, markup, "length");
+			return markup;
+		}
+
+		if (!hasCBMarkup(markup)) {
+			CB_2_CHECKLIST_STATISTICS.plain.increment();
+			return markup;
+		}
+
+		CB_2_CHECKLIST_STATISTICS.markup.increment();
+
+		String text   = (markup instanceof String ? (String) markup : null);
+		String cached = (text != null ? CB_2_CHECKLIST_CACHE.get(text) : null);
+		if (cached != null) {
+			return cached;
+		}
+
+		CharSequence converted = markup;
+		boolean      allocated = (result == null);
+
+		if (allocated) {
+			result = new StringBuilder(markup.length() + 16);
+		}
+
+		try {
+			int steps = cb2checklist(markup, 0, markup.length(), result, CONVERSION_GUARD.getMaxSteps());
+			if (steps == BUDGET_EXCEEDED) {
+				CONVERSION_GUARD.exceeded(CB_2_CHECKLIST_STATISTICS, markup, "step");
+			} else if (steps > 0) {
+				converted = result;
+			}
+		} catch (Throwable ex) {
+			CONVERSION_GUARD.failed(CB_2_CHECKLIST_STATISTICS, markup, ex);
+		}
+
+		if (converted != result) {
+			result.setLength(start);
+		} else if (allocated) {
+			converted = result.toString();
+		}
+
+		if (CB_2_CHECKLIST_CACHE.isCacheable(text)) {
+			CB_2_CHECKLIST_CACHE.put(text, converted == result ? result.substring(start) : converted.toString());
+		}
+
+		return converted;
+	}
+
 
 }
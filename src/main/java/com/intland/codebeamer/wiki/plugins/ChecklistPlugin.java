@@ -29,22 +29,48 @@
  */
 package com.intland.codebeamer.wiki.plugins;
 
+import static com.intland.codebeamer.controller.AbstractJsonController.jsonMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.apache.velocity.VelocityContext;
+import org.joda.time.DateTimeZone;
 
 import com.ecyrd.jspwiki.WikiContext;
 import com.ecyrd.jspwiki.plugin.PluginException;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 
 import com.intland.codebeamer.controller.AbstractJsonController;
 import com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto;
@@ -59,6 +85,7 @@ import com.intland.codebeamer.utils.AnchoredPeriod.Edge;
 import com.intland.codebeamer.wiki.plugins.base.AbstractCodeBeamerWikiPlugin;
 
 import static com.intland.codebeamer.controller.support.ResponseViewHandler.ISO_DATE_TIME;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.ID;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.DESCRIPTION;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.STYLE;
@@ -90,9 +117,22 @@ import static com.intland.codebeamer.utils.AnchoredPeriod.TODAY;
 public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 	public static final Logger logger = Logger.getLogger(ChecklistPlugin.class);
 
+	public static final String PLUGIN_NAME   = "[{Checklist";
 	public static final String PLUGIN_HEADER = "[{Checklist\r\n\r\n";
 	public static final String PLUGIN_FOOTER = "\r\n}]";
 
+	public static final String VERSION 	  = "version";
+	public static final String KEYS    	  = "keys";
+	public static final String SHORT   	  = "short";
+
+	public static final String PLUGIN_HEADER_V2 	  = "[{Checklist version='2'\r\n\r\n";
+	public static final String PLUGIN_HEADER_V2_SHORT = "[{Checklist version='2' keys='short'\r\n\r\n";
+
+	/**
+	 * The system property, to opt in to writing checklist bodies in a {@link Format} other than {@link Format#V1}, e.g. <code>-Dchecklist.bodyFormat=V2</code>
+	 */
+	public static final String BODY_FORMAT_PROPERTY = "checklist.bodyFormat";
+
 	public static final String PINNED 		= "pinned";
 	public static final String HEADER 		= "header";
 	public static final String MANDATORY 	= "mandatory";
@@ -110,6 +150,300 @@ public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 		STATUS_NAME.put("blocked", 		 "Blocked");
 	}
 
+	/**
+	 * A canonical checklist item status, that is shared for lookups and comparisons.<br/>
+	 * The representations of the status for rendering, import and export are created once, and shared by all checklist items with this status,
+	 * so they must not be modified. A caller, that must modify a status representation, has to copy it first.
+	 */
+	public static class Status {
+		private final String   				 name;
+		private final String   				 style;
+		private final TrackerChoiceOptionDto option;
+		private final JsonNode 				 node;
+		private final JsonNode 				 jiraNode;
+
+		/**
+		 * Create a new canonical status with the specified name and style
+		 * @param name of the status, must not be blank
+		 * @param style of the status, or null
+		 */
+		protected Status(String name, String style) {
+			this.name   = name;
+			this.style  = style;
+			this.option = new TrackerChoiceOptionDto(null, name);
+			this.option.setStyle(style);
+
+			if (style != null) {
+				this.node 	  = jsonMapper.createObjectNode().put(NAME, name).put(STYLE, style);
+				this.jiraNode = jsonMapper.createObjectNode().put(ID, style);
+			} else {
+				this.node 	  = TextNode.valueOf(name);
+				this.jiraNode = null;
+			}
+		}
+
+		/**
+		 * Get the name of the status
+		 * @return the status name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Get the style (id) of the status
+		 * @return the status style, or null
+		 */
+		public String getStyle() {
+			return style;
+		}
+
+		/**
+		 * Get the status option for rendering
+		 * @return the shared status option with the status name and style, that must not be modified
+		 */
+		public TrackerChoiceOptionDto getOption() {
+			return option;
+		}
+
+		/**
+		 * Get the status node for a checklist body
+		 * @return the shared object with the status name and style, that must not be modified, or the status name, if the status has no style
+		 */
+		public JsonNode getNode() {
+			return node;
+		}
+
+		/**
+		 * Get the status node for a Jira checklist item
+		 * @return the shared object with the status style as id, that must not be modified, or null, if the status has no style
+		 */
+		public JsonNode getJiraNode() {
+			return jiraNode;
+		}
+	}
+
+	/**
+	 * A registry of canonical checklist item statuses.<br/>
+	 * The predefined statuses are found by id(style) or name, ignoring case, via a perfect hash table, that is built once for the predefined keys,
+	 * so a lookup hashes the key once, and compares it with a single candidate, without allocating any objects.
+	 * Other statuses are interned into a bounded table by name and style, that is also looked up without allocating any objects.
+	 * Once the table is full, other statuses are created on each call, and counted as {@link #getOverflows() overflows}.
+	 */
+	public static class StatusRegistry {
+		private final String[]											 keys;
+		private final Status[]											 predefined;
+		private final int												 seed;
+		private final ConcurrentMap<String,ConcurrentMap<String,Status>> custom 	= new ConcurrentHashMap<String,ConcurrentMap<String,Status>>();
+		private final AtomicInteger										 customSize = new AtomicInteger();
+		private final LongAdder											 overflows  = new LongAdder();
+		private final int												 maxCustom;
+
+		/**
+		 * Create a new status registry
+		 * @param predefined is a map of the predefined status styles (ids) to status names
+		 * @param maxCustom is the maximum number of other statuses to intern
+		 * @throws IllegalArgumentException if there is no perfect hash table for the predefined statuses
+		 */
+		public StatusRegistry(Map<String,String> predefined, int maxCustom) {
+			Map<String,Status> statuses = new LinkedHashMap<String,Status>();
+
+			for (Map.Entry<String,String> entry : predefined.entrySet()) {
+				Status status = new Status(entry.getValue(), entry.getKey());
+
+				statuses.putIfAbsent(status.getStyle().toLowerCase(Locale.ROOT), status);
+				statuses.putIfAbsent(status.getName().toLowerCase(Locale.ROOT),  status);
+			}
+
+			this.maxCustom = maxCustom;
+
+			String[] table = null;
+			int		 found = 0;
+
+			// Find the smallest table and a seed, so that all keys have a different slot
+			search:
+			for (int size = Integer.highestOneBit(Math.max(1, statuses.size() * 2 - 1)) << 1; size <= 1 << 16; size <<= 1) {
+				for (int seed = 0; seed < 256; ++seed) {
+					String[] keys  = new String[size];
+					boolean  valid = true;
+
+					for (Iterator<String> it = statuses.keySet().iterator(); valid && it.hasNext();) {
+						String key  = it.next();
+						int    slot = hash(key, 0, key.length(), seed) & (size - 1);
+
+						if (keys[slot] == null) {
+							keys[slot] = key;
+						} else {
+							valid = false;
+						}
+					}
+
+					if (valid) {
+						table = keys;
+						found = seed;
+						break search;
+					}
+				}
+			}
+
+			if (table == null) {
+				throw new IllegalArgumentException("No perfect hash for statuses " + statuses.keySet());
+			}
+
+			this.keys		= table;
+			this.seed		= found;
+			this.predefined = new Status[table.length];
+
+			for (int slot = 0; slot < table.length; ++slot) {
+				if (table[slot] != null) {
+					this.predefined[slot] = statuses.get(table[slot]);
+				}
+			}
+		}
+
+		/**
+		 * A case-insensitive hash of the specified key range, where each seed yields a different hash function
+		 */
+		private static int hash(CharSequence key, int from, int to, int seed) {
+			int multiplier = 31 + (seed << 1);
+			int hash	   = seed ^ (to - from);
+
+			for (int i = from; i < to; ++i) {
+				hash = hash * multiplier + Character.toLowerCase(key.charAt(i));
+			}
+
+			hash ^= hash >>> 16;
+			hash *= 0x85ebca6b;
+			hash ^= hash >>> 13;
+
+			return hash;
+		}
+
+		/**
+		 * Find a predefined status by id(style) or name, ignoring case and leading/trailing whitespace
+		 * @param idOrName of the status
+		 * @return the predefined status, or null
+		 */
+		public Status lookup(String idOrName) {
+			if (idOrName != null) {
+				int from = 0;
+				int to   = idOrName.length();
+
+				while (from < to && idOrName.charAt(from) <= ' ') {
+					++from;
+				}
+				while (to > from && idOrName.charAt(to - 1) <= ' ') {
+					--to;
+				}
+
+				if (to > from) {
+					int    slot = hash(idOrName, from, to, seed) & (keys.length - 1);
+					String key	= keys[slot];
+
+					if (key != null && key.length() == to - from && idOrName.regionMatches(true, from, key, 0, key.length())) {
+						return predefined[slot];
+					}
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Get the canonical status with exactly the specified name and style
+		 * @param name of the status
+		 * @param style of the status, or null
+		 * @return the canonical status, or null, if the name is blank
+		 */
+		public Status get(String name, String style) {
+			if (StringUtils.isBlank(name)) {
+				return null;
+			}
+
+			if (StringUtils.isBlank(style)) {
+				style = null;
+			} else {
+				Status status = lookup(style);
+				if (status != null && status.getStyle().equals(style) && status.getName().equals(name)) {
+					return status;
+				}
+			}
+
+			// Statuses without style are interned with an empty style
+			String 						 styleKey = (style != null ? style : "");
+			ConcurrentMap<String,Status> styles   = custom.get(name);
+			Status 						 status   = (styles != null ? styles.get(styleKey) : null);
+
+			if (status == null) {
+				status = new Status(name, style);
+
+				if (customSize.get() < maxCustom) {
+					if (styles == null) {
+						ConcurrentMap<String,Status> other = custom.putIfAbsent(name, styles = new ConcurrentHashMap<String,Status>(4));
+						if (other != null) {
+							styles = other;
+						}
+					}
+
+					Status other = styles.putIfAbsent(styleKey, status);
+					if (other != null) {
+						status = other;
+					} else {
+						customSize.incrementAndGet();
+					}
+				} else {
+					overflows.increment();
+				}
+			}
+
+			return status;
+		}
+
+		/**
+		 * Get the number of interned other statuses
+		 * @return the number of interned other statuses, at most the maximum number of other statuses to intern
+		 */
+		public int getCustomCount() {
+			return customSize.get();
+		}
+
+		/**
+		 * Get the number of other statuses, that were created and not interned, because the table was full
+		 * @return the number of other statuses, that were not interned
+		 */
+		public long getOverflows() {
+			return overflows.sum();
+		}
+	}
+
+	/**
+	 * The registry of the canonical checklist item statuses
+	 */
+	public static final StatusRegistry STATUSES = new StatusRegistry(STATUS_NAME, 1024);
+
+	/**
+	 * The short keys of checklist item attributes in the {@link Format#V2_SHORT} body format. Other attribute keys are stored as they are.
+	 * Only the top-level keys of each checklist item are shortened, so nested objects, e.g. the {@link #STATUS}, keep their regular keys.
+	 */
+	public static final Map<String,String> SHORT_KEYS = new LinkedHashMap<String,String>();
+	public static final Map<String,String> LONG_KEYS  = new LinkedHashMap<String,String>();
+	static {
+		SHORT_KEYS.put(ID, 			"i");
+		SHORT_KEYS.put(NAME, 		"n");
+		SHORT_KEYS.put(DESCRIPTION, "d");
+		SHORT_KEYS.put(PINNED, 		"p");
+		SHORT_KEYS.put(HEADER, 		"h");
+		SHORT_KEYS.put(MANDATORY, 	"m");
+		SHORT_KEYS.put(CHECKED, 	"c");
+		SHORT_KEYS.put(PRIORITY, 	"r");
+		SHORT_KEYS.put(STATUS, 		"s");
+		SHORT_KEYS.put(END_DATE, 	"e");
+
+		for (Map.Entry<String,String> entry : SHORT_KEYS.entrySet()) {
+			LONG_KEYS.put(entry.getValue(), entry.getKey());
+		}
+	}
+
 	/**
 	 * A helper to encode/decode the Checklist body to/from JSON
 	 */
@@ -120,37 +454,844 @@ public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 		}
 	};
 
+	/**
+	 * The format of the checklist body in the Wiki markup, that is identified by the plugin header.<br/>
+	 * A checklist body is always read in the format of its header, but written in the current {@link ChecklistPlugin#getBodyFormat()},
+	 * so stored checklists are only upgraded, when they are rewritten anyway, and never in bulk.
+	 */
+	public static enum Format {
+		/**
+		 * The original format: A pretty printed JSON array of checklist items
+		 */
+		V1(PLUGIN_HEADER, true, false),
+
+		/**
+		 * A compact format: A minified JSON array of checklist items
+		 */
+		V2(PLUGIN_HEADER_V2, false, false),
+
+		/**
+		 * A compact format: A minified JSON array of checklist items, with {@link ChecklistPlugin#SHORT_KEYS} for the top-level item attributes
+		 */
+		V2_SHORT(PLUGIN_HEADER_V2_SHORT, false, true);
+
+		private final String  header;
+		private final boolean pretty;
+		private final boolean shortKeys;
+
+		private Format(String header, boolean pretty, boolean shortKeys) {
+			this.header    = header;
+			this.pretty    = pretty;
+			this.shortKeys = shortKeys;
+		}
+
+		/**
+		 * Get the plugin header, that precedes a checklist body in this format
+		 * @return the plugin header for this format
+		 */
+		public String getHeader() {
+			return header;
+		}
+
+		/**
+		 * Check whether a checklist body in this format is pretty printed
+		 * @return true if the checklist body is pretty printed, false if the checklist body is minified
+		 */
+		public boolean isPretty() {
+			return pretty;
+		}
+
+		/**
+		 * Check whether a checklist body in this format uses {@link ChecklistPlugin#SHORT_KEYS} for checklist item attributes
+		 * @return true if the checklist item attributes have short keys, otherwise false
+		 */
+		public boolean isShortKeys() {
+			return shortKeys;
+		}
+
+		/**
+		 * Create a generator, that writes a checklist body in this format into the specified writer
+		 * @param writer is where to write the checklist body, e.g. after the {@link #getHeader()}
+		 * @return the generator for the checklist body
+		 * @throws IOException if the generator could not be created
+		 */
+		public JsonGenerator createGenerator(Writer writer) throws IOException {
+			JsonGenerator generator = jsonMapper.getFactory().createGenerator(writer);
+			return pretty ? generator.useDefaultPrettyPrinter() : generator;
+		}
+
+		/**
+		 * Convert the specified checklist or checklist item into this format, before writing it
+		 * @param checklist is a JSON array of checklist items or a single checklist item
+		 * @return the checklist or checklist item, as it should be written in this format
+		 */
+		public JsonNode compact(JsonNode checklist) {
+			return shortKeys ? renameKeys(checklist, SHORT_KEYS) : checklist;
+		}
+
+		/**
+		 * Convert the specified checklist or checklist item, that was read in this format, back into the regular format
+		 * @param checklist is a JSON array of checklist items or a single checklist item, as read in this format
+		 * @return the checklist or checklist item with regular attribute keys
+		 */
+		public JsonNode expand(JsonNode checklist) {
+			return shortKeys ? renameKeys(checklist, LONG_KEYS) : checklist;
+		}
+
+		/**
+		 * Get the format of the checklist body, that follows the plugin header at the specified position in the Wiki markup
+		 * @param markup should be WIKI markup for this plugin
+		 * @param start is the position of the {@link ChecklistPlugin#PLUGIN_NAME} in the markup
+		 * @return the format of the checklist body, or null, if there is no known plugin header at this position
+		 */
+		public static Format of(String markup, int start) {
+			if (markup != null && start >= 0) {
+				for (Format format : values()) {
+					if (markup.startsWith(format.header, start)) {
+						return format;
+					}
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Get the format with the specified name
+		 * @param name is the name of the format, e.g. "V2", case is ignored
+		 * @param defaultFormat is the format to return, if there is no format with the specified name
+		 * @return the format with the specified name, or the specified default format
+		 */
+		public static Format forName(String name, Format defaultFormat) {
+			for (Format format : values()) {
+				if (format.name().equalsIgnoreCase(StringUtils.trim(name))) {
+					return format;
+				}
+			}
+
+			return defaultFormat;
+		}
+
+		/**
+		 * Get the format of the plugin body from the specified plugin parameters
+		 * @param params are the plugin parameters
+		 * @return the format of the plugin body
+		 */
+		public static Format of(Map<?,?> params) {
+			if (params != null && "2".equals(StringUtils.trim(AttributedDto.toString(params.get(VERSION))))) {
+				return SHORT.equalsIgnoreCase(StringUtils.trim(AttributedDto.toString(params.get(KEYS)))) ? V2_SHORT : V2;
+			}
+
+			return V1;
+		}
+
+		private static JsonNode renameKeys(JsonNode node, Map<String,String> keys) {
+			if (node != null) {
+				if (node.isArray()) {
+					ArrayNode result = jsonMapper.createArrayNode();
+
+					for (JsonNode item : node) {
+						result.add(item.isObject() ? renameKeys(item, keys) : item);
+					}
+
+					return result;
+
+				} else if (node.isObject()) {
+					ObjectNode result = jsonMapper.createObjectNode();
+
+					for (Iterator<Map.Entry<String,JsonNode>> it = node.fields(); it.hasNext();) {
+						Map.Entry<String,JsonNode> field = it.next();
+
+						result.set(StringUtils.defaultString(keys.get(field.getKey()), field.getKey()), field.getValue());
+					}
+
+					return result;
+				}
+			}
+
+			return node;
+		}
+	}
+
+	/**
+	 * The default checklist body format is {@link Format#V1}, that can be read by all plugin versions,
+	 * unless another format is configured via the {@link #BODY_FORMAT_PROPERTY}
+	 */
+	public static final Format DEFAULT_BODY_FORMAT = Format.forName(System.getProperty(BODY_FORMAT_PROPERTY), Format.V1);
+
+	private static volatile Format bodyFormat = DEFAULT_BODY_FORMAT;
+
+	/**
+	 * Get the format, in which checklist bodies are currently written
+	 * @return the current checklist body format, default is the {@link #DEFAULT_BODY_FORMAT}
+	 */
+	public static Format getBodyFormat() {
+		return bodyFormat;
+	}
+
+	/**
+	 * Set the format, in which checklist bodies should be written from now on.
+	 * Already stored checklists are not converted, but only when they are rewritten.
+	 * Other nodes, backups and older plugin versions can only read the {@link Format#V2} formats, after they were upgraded as well.
+	 * @param format is the new checklist body format, or null for the {@link #DEFAULT_BODY_FORMAT}
+	 */
+	public static void setBodyFormat(Format format) {
+		bodyFormat = (format != null ? format : DEFAULT_BODY_FORMAT);
+	}
+
+	/**
+	 * Get the format of the checklist body, that is stored in the specified Wiki markup
+	 * @param markup should be WIKI markup for this plugin
+	 * @return the format of the checklist body, or null, if the markup does not contain a known plugin header
+	 */
+	public static Format getFormat(String markup) {
+		return Format.of(markup, StringUtils.indexOf(markup, PLUGIN_NAME));
+	}
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME  = 0x100000001b3L;
+
+	/**
+	 * Compute a stable fingerprint of the checklist, that is stored in the specified Wiki markup, without parsing the checklist body.<br/>
+	 * Only the checklist body is hashed, and whitespace outside of JSON strings is ignored,
+	 * so the same checklist in {@link Format#V1} and {@link Format#V2} has the same fingerprint.
+	 * A checklist in {@link Format#V2_SHORT} has a different fingerprint, because its keys differ.
+	 * @param markup should be WIKI markup for this plugin
+	 * @return the 64-bit FNV-1a hash of the normalized checklist body, or of the whole markup, if it does not contain a checklist body, or 0, if the markup is null
+	 */
+	public static long fingerprint(String markup) {
+		if (markup == null) {
+			return 0L;
+		}
+
+		long   hash   = FNV_OFFSET;
+		int    start  = StringUtils.indexOf(markup, PLUGIN_NAME);
+		int    end    = -1;
+		Format format = Format.of(markup, start);
+
+		if (format != null && (end = markup.indexOf(PLUGIN_FOOTER, start += format.getHeader().length())) >= 0) {
+			boolean string  = false;
+			boolean escaped = false;
+
+			for (int i = start; i < end; ++i) {
+				char c = markup.charAt(i);
+
+				if (string) {
+					if (escaped) {
+						escaped = false;
+					} else if (c == '\\') {
+						escaped = true;
+					} else if (c == '"') {
+						string = false;
+					}
+				} else if (c <= ' ') {
+					continue;
+				} else if (c == '"') {
+					string = true;
+				}
+
+				hash = (hash ^ c) * FNV_PRIME;
+			}
+		} else {
+			// Not a checklist body, so hash everything, but distinct from a body with the same content
+			hash = (hash ^ 0xFFFF) * FNV_PRIME;
+
+			for (int i = 0; i < markup.length(); ++i) {
+				hash = (hash ^ markup.charAt(i)) * FNV_PRIME;
+			}
+		}
+
+		return hash;
+	}
+
 	/**
 	 * Wrap the specified checklist body into WIKI markup for this plugin
 	 * @param checklist should be a JSON array of checklist items to wrap into WIKI plugin markup
 	 * @return the Wiki markup for the checklist
 	 */
 	public static String wrapChecklist(JsonNode checklist) {
-		StringBuilder markup = new StringBuilder(1024).append(PLUGIN_HEADER);
+		Format 		 format = getBodyFormat();
+		StringWriter markup = new StringWriter(1024);
+		markup.write(format.getHeader());
 
 		if (checklist != null && checklist.isArray()) {
-			markup.append(BODY.toPrettyJSONString(checklist));
+			try (JsonGenerator body = format.createGenerator(markup)) {
+				body.writeTree(format.compact(checklist));
+			} catch (IOException ex) {
+				logger.warn("Could not write checklist body", ex);
+			}
 		}
 
-		return markup.append(PLUGIN_FOOTER).toString();
+		markup.write(PLUGIN_FOOTER);
+
+		return markup.toString();
 	}
 
 	/**
-	 * Unwrap the checklist, that is stored in the specified Wiki markup
+	 * Create a generator, that writes a checklist body in the current {@link #getBodyFormat()} into the specified writer
+	 * @param writer is where to write the checklist body, e.g. after the {@link Format#getHeader()}
+	 * @return the generator for the checklist body
+	 * @throws IOException if the generator could not be created
+	 */
+	public static JsonGenerator createBodyGenerator(Writer writer) throws IOException {
+		return getBodyFormat().createGenerator(writer);
+	}
+
+	/**
+	 * Unwrap the checklist, that is stored in the specified Wiki markup in any {@link Format}
 	 * @param markup should be WIKI markup for this plugin
 	 * @return the JSON array of checklist items as stored in the Wiki markup
 	 */
 	public static JsonNode unwrapChecklist(String markup) {
-		return BODY.parseJSON(StringUtils.substringBetween(markup, PLUGIN_HEADER, PLUGIN_FOOTER));
+		return new LazyChecklist(markup).getItems();
+	}
+
+	/**
+	 * Open a parser over the checklist, that is stored in the specified Wiki markup, without copying the checklist body.<br/>
+	 * The checklist items must be expanded via the {@link #getFormat(String)} of the markup.
+	 * @param markup should be WIKI markup for this plugin
+	 * @return a parser positioned before the JSON array of checklist items as stored in the Wiki markup,
+	 * or null, if the markup does not contain a checklist body, or the body is empty
+	 * @throws IOException if the parser could not be created
+	 */
+	public static JsonParser openChecklist(String markup) throws IOException {
+		int    start  = StringUtils.indexOf(markup, PLUGIN_NAME);
+		int    end	  = -1;
+		Format format = Format.of(markup, start);
+		if (format != null && (end = markup.indexOf(PLUGIN_FOOTER, start += format.getHeader().length())) >= 0) {
+			// An empty checklist is stored as header and footer only
+			while (start < end && markup.charAt(start) <= ' ') {
+				start++;
+			}
+
+			if (start < end) {
+				Reader body = new StringReader(markup);
+				body.skip(start);
+
+				return jsonMapper.getFactory().createParser(body);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * A handle on the checklist, that is stored in Wiki markup, that answers cheap queries, e.g. {@link #isEmpty()}, {@link #size()} and {@link #fingerprint()},
+	 * by scanning the raw markup, and only parses the checklist body on the first call of {@link #getItems()}.<br/>
+	 * The scan assumes a well-formed checklist body. A handle is not thread-safe.
+	 */
+	public static class LazyChecklist {
+		private final String markup;
+		private final Format format;
+		private final int	 start;
+		private final int	 end;
+		private int 		 size = -1;
+		private long		 fingerprint;
+		private boolean 	 hashed = false;
+		private boolean 	 parsed = false;
+		private JsonNode	 items;
+
+		/**
+		 * Create a new lazy checklist handle
+		 * @param markup should be WIKI markup for this plugin, or null
+		 */
+		public LazyChecklist(String markup) {
+			int    start  = StringUtils.indexOf(markup, PLUGIN_NAME);
+			Format format = Format.of(markup, start);
+			int    end	  = (format != null ? markup.indexOf(PLUGIN_FOOTER, start += format.getHeader().length()) : -1);
+
+			this.markup = markup;
+			this.format = (end >= 0 ? format : null);
+			this.start  = start;
+			this.end	= end;
+		}
+
+		/**
+		 * @return the raw Wiki markup, that contains the checklist
+		 */
+		public String getMarkup() {
+			return markup;
+		}
+
+		/**
+		 * @return the format of the checklist body, or null, if the markup does not contain a checklist body
+		 */
+		public Format getFormat() {
+			return format;
+		}
+
+		/**
+		 * @return true, if the markup contains a checklist body, otherwise false
+		 */
+		public boolean hasBody() {
+			return format != null;
+		}
+
+		/**
+		 * @return the number of checklist items, without parsing the checklist body, or 0, if there is no checklist body, or it is not an array
+		 */
+		public int size() {
+			if (size < 0) {
+				size = (parsed ? (items != null && items.isArray() ? items.size() : 0) : countItems());
+			}
+			return size;
+		}
+
+		/**
+		 * @return true, if there are no checklist items, otherwise false
+		 */
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		/**
+		 * @return the {@link ChecklistPlugin#fingerprint(String)} of the markup
+		 */
+		public long fingerprint() {
+			if (!hashed) {
+				fingerprint = ChecklistPlugin.fingerprint(markup);
+				hashed = true;
+			}
+			return fingerprint;
+		}
+
+		/**
+		 * @return the JSON array of checklist items as stored in the Wiki markup, see {@link ChecklistPlugin#unwrapChecklist(String)}, that is parsed on first access
+		 */
+		public JsonNode getItems() {
+			if (!parsed) {
+				items  = (format != null ? format.expand(BODY.parseJSON(markup.substring(start, end))) : BODY.parseJSON(null));
+				parsed = true;
+			}
+			return items;
+		}
+
+		private int countItems() {
+			int		count	= 0;
+			int		depth	= 0;
+			boolean string	= false;
+			boolean escaped = false;
+			boolean item	= false;
+
+			for (int i = (format != null ? start : end); i < end; ++i) {
+				char c = markup.charAt(i);
+
+				if (string) {
+					if (escaped) {
+						escaped = false;
+					} else if (c == '\\') {
+						escaped = true;
+					} else if (c == '"') {
+						string = false;
+					}
+				} else if (c <= ' ') {
+					continue;
+				} else if (depth == 0) {
+					if (c != '[') {
+						return 0;
+					}
+					depth++;
+				} else {
+					if (depth == 1 && !item && c != ']' && c != ',') {
+						item = true;
+						count++;
+					}
+
+					if (c == '"') {
+						string = true;
+					} else if (c == '[' || c == '{') {
+						depth++;
+					} else if (c == ']' || c == '}') {
+						if (--depth == 0) {
+							break;
+						}
+					} else if (c == ',' && depth == 1) {
+						item = false;
+					}
+				}
+			}
+
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return markup;
+		}
+	}
+
+	/**
+	 * A converter between checklist item date strings and dates, that memorizes recently converted values, because checklist dates repeat heavily.<br/>
+	 * Date/time strings with an explicit offset, e.g. <code>2021-02-05T00:00:00.000+01:00</code>, and day values, e.g. <code>2021-02-05</code>,
+	 * are parsed via java.time without the generic parser, where day values are the start of the day in the {@link #getZone()} of the converter,
+	 * but only the shapes, for which the generic parser produces the same results, so all other strings are still accepted or rejected by the generic parser.
+	 * Dates are formatted via the {@link DateTimeFormatter} of the converter, if it produces the same results as the generic {@link #format(Date)},
+	 * otherwise via the generic formatter.
+	 * <p>The memorized values are kept per time zone, and in two generations, so that values used recently survive, when a generation is full.</p>
+	 */
+	public static abstract class DateConverter {
+		private static final long INVALID = Long.MIN_VALUE;
+
+		/** The dates to compare the {@link DateTimeFormatter} with the generic formatter: winter and summer time, and the epoch */
+		private static final long[] PROBES = {1612483200000L, 1626352496789L, 0L};
+
+		/** The shapes of date strings, that can be parsed without the generic parser, identified by their length */
+		private static final int DAY = 0, ZULU = 1, COMPACT = 2, COLON = 3;
+
+		/** The date strings to compare the parsing of each shape with the generic parser: winter and summer time, and offsets east and west */
+		private static final String[] SHAPES = {"2021-07-15", "2021-02-05T10:20:30.123Z", "2021-07-15T00:00:00.000-0800", "2021-02-05T23:59:59.999+05:30"};
+
+		/** The first year of the Gregorian calendar, before that {@link java.util.Calendar} and java.time dates differ */
+		public static final int GREGORIAN_START = 1583;
+
+		private final int 				  capacity;
+		private final DateTimeFormatter   formatter;
+		private final Map<ZoneId,Memo> 	  memos = new ConcurrentHashMap<ZoneId,Memo>();
+
+		/**
+		 * Create a new date converter, that formats dates always via the generic formatter
+		 * @param capacity is the maximum number of date strings to memorize in each direction and time zone
+		 */
+		protected DateConverter(int capacity) {
+			this(capacity, null);
+		}
+
+		/**
+		 * Create a new date converter
+		 * @param capacity is the maximum number of date strings to memorize in each direction and time zone
+		 * @param formatter is the java.time equivalent of the generic {@link #format(Date)}, or null
+		 */
+		protected DateConverter(int capacity, DateTimeFormatter formatter) {
+			this.capacity  = capacity;
+			this.formatter = formatter;
+		}
+
+		/**
+		 * Get the time zone, in which the generic parser and formatter currently convert dates
+		 * @return the time zone of the generic parser and formatter, by default the system default time zone
+		 */
+		protected ZoneId getZone() {
+			return ZoneId.systemDefault();
+		}
+
+		/**
+		 * Parse the specified date string via the generic parser
+		 * @param text is the date string to parse
+		 * @return the parsed date, or null
+		 * @throws ParseException if the date string could not be parsed
+		 */
+		protected abstract Date parse(String text) throws ParseException;
+
+		/**
+		 * Format the specified date via the generic formatter
+		 * @param date to format
+		 * @return the formatted date string
+		 */
+		protected abstract String format(Date date);
+
+		/**
+		 * Get the memorized values for the current time zone
+		 * @return the memorized values for the current {@link #getZone()}
+		 */
+		private Memo getMemo() {
+			ZoneId zone = getZone();
+			Memo   memo = memos.get(zone);
+			if (memo == null) {
+				DateTimeFormatter zoned = (formatter != null ? formatter.withZone(zone) : null);
+
+				for (int i = 0; i < PROBES.length && zoned != null; ++i) {
+					if (!zoned.format(Instant.ofEpochMilli(PROBES[i])).equals(format(new Date(PROBES[i])))) {
+						zoned = null;
+					}
+				}
+
+				boolean[] shapes = new boolean[SHAPES.length];
+				for (int i = 0; i < SHAPES.length; ++i) {
+					long fast = parseShape(SHAPES[i], i, zone);
+					shapes[i] = (fast != INVALID && fast == parseGeneric(SHAPES[i]));
+				}
+
+				Memo existing = memos.putIfAbsent(zone, memo = new Memo(zone, zoned, shapes, capacity));
+				if (existing != null) {
+					memo = existing;
+				}
+			}
+			return memo;
+		}
+
+		/**
+		 * Parse the specified probe of a shape via the generic parser
+		 * @param text is the date string to parse
+		 * @return the milliseconds since the epoch, or {@link Long#MIN_VALUE}, if the generic parser rejected the string
+		 */
+		private long parseGeneric(String text) {
+			try {
+				Date date = parse(text);
+				return date != null ? date.getTime() : INVALID;
+			} catch (ParseException | RuntimeException ex) {
+				return INVALID;
+			}
+		}
+
+		/**
+		 * Parse the specified date string with the specified shape without the generic parser
+		 * @param text is the date string to parse
+		 * @param shape is the shape of the date string, see {@link #shapeOf(CharSequence)}
+		 * @param zone is the time zone for day values
+		 * @return the milliseconds since the epoch, or {@link Long#MIN_VALUE}, if the string does not have this shape or is not valid
+		 */
+		private static long parseShape(CharSequence text, int shape, ZoneId zone) {
+			if (shape == DAY) {
+				LocalDate day = parseDay(text);
+				return day != null ? day.atStartOfDay(zone).toInstant().toEpochMilli() : INVALID;
+			}
+			return parseMillis(text);
+		}
+
+		/**
+		 * Get the shape of the specified date string by its length
+		 * @param text is the date string
+		 * @return the shape of a <code>yyyy-MM-dd</code> day value, or of a date/time string with a <code>Z</code>, <code>+HHmm</code> or <code>+HH:mm</code> offset, or -1
+		 */
+		private static int shapeOf(CharSequence text) {
+			switch (text.length()) {
+			case 10:
+				return DAY;
+			case 24:
+				return ZULU;
+			case 28:
+				return COMPACT;
+			case 29:
+				return COLON;
+			default:
+				return -1;
+			}
+		}
+
+		/**
+		 * Decode the specified date string into a date
+		 * @param text is the date string to decode
+		 * @return a new date for the string, or null
+		 * @throws ParseException if the date string could not be parsed
+		 */
+		public Date decode(String text) throws ParseException {
+			if (text == null) {
+				return parse(text);
+			}
+
+			Memo memo   = getMemo();
+			Long millis = memo.decoded.get(text);
+			if (millis == null) {
+				int  shape = shapeOf(text);
+				long value = (shape >= 0 && memo.shapes[shape] ? parseShape(text, shape, memo.zone) : INVALID);
+				if (value == INVALID) {
+					Date date = parse(text);
+					if (date == null) {
+						return null;
+					}
+
+					value = date.getTime();
+				}
+
+				memo.decoded.put(text, millis = Long.valueOf(value));
+			}
+
+			return new Date(millis.longValue());
+		}
+
+		/**
+		 * Encode the specified date into a date string
+		 * @param date to encode
+		 * @return the date string for the date
+		 */
+		public String encode(Date date) {
+			if (date == null) {
+				return format(date);
+			}
+
+			Memo   memo   = getMemo();
+			Long   millis = Long.valueOf(date.getTime());
+			String result = memo.encoded.get(millis);
+			if (result == null) {
+				result = (memo.formatter != null ? memo.formatter.format(Instant.ofEpochMilli(date.getTime())) : format(date));
+				if (result != null) {
+					memo.encoded.put(millis, result);
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Parse a date/time string with an explicit offset, <code>yyyy-MM-dd'T'HH:mm:ss.SSS</code> followed by
+		 * <code>Z</code>, <code>+HH:mm</code> or <code>+HHmm</code>, into milliseconds since the epoch
+		 * @param text is the date/time string to parse
+		 * @return the milliseconds since the epoch, or {@link Long#MIN_VALUE}, if the string does not have this shape or is not a valid Gregorian calendar date/time
+		 */
+		public static long parseMillis(CharSequence text) {
+			int length = text.length();
+			if (length < 24 || length > 29 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' ||
+				text.charAt(13) != ':' || text.charAt(16) != ':' || text.charAt(19) != '.') {
+				return INVALID;
+			}
+
+			int year   = digits(text, 0,  4);
+			int month  = digits(text, 5,  2);
+			int day    = digits(text, 8,  2);
+			int hour   = digits(text, 11, 2);
+			int minute = digits(text, 14, 2);
+			int second = digits(text, 17, 2);
+			int millis = digits(text, 20, 3);
+			int offset = 0;
+
+			if (year < GREGORIAN_START || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year)) ||
+				hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0) {
+				return INVALID;
+			}
+
+			char sign = text.charAt(23);
+			if (sign == 'Z' && length == 24) {
+				offset = 0;
+			} else if ((sign == '+' || sign == '-') && (length == 28 || (length == 29 && text.charAt(26) == ':'))) {
+				int hours   = digits(text, 24, 2);
+				int minutes = digits(text, length - 2, 2);
+				if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+					return INVALID;
+				}
+
+				offset = (sign == '-' ? -1 : 1) * (hours * 3600 + minutes * 60);
+			} else {
+				return INVALID;
+			}
+
+			return (LocalDate.of(year, month, day).toEpochDay() * 86400L + hour * 3600 + minute * 60 + second - offset) * 1000L + millis;
+		}
+
+		/**
+		 * Parse an ISO day value with the shape <code>yyyy-MM-dd</code>
+		 * @param text is the day value to parse
+		 * @return the parsed day, or null, if the string does not have this shape, or is not a valid Gregorian calendar day
+		 */
+		public static LocalDate parseDay(CharSequence text) {
+			if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+				return null;
+			}
+
+			int year  = digits(text, 0, 4);
+			int month = digits(text, 5, 2);
+			int day   = digits(text, 8, 2);
+
+			if (year < GREGORIAN_START || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+				return null;
+			}
+
+			return LocalDate.of(year, month, day);
+		}
+
+		/**
+		 * Parse the specified number of decimal digits from the specified position of the specified text
+		 * @param text contains the digits
+		 * @param from is the position of the first digit
+		 * @param count is the number of digits
+		 * @return the parsed number, or -1, if any of the characters is not a digit
+		 */
+		public static int digits(CharSequence text, int from, int count) {
+			int result = 0;
+
+			for (int i = from; i < from + count; ++i) {
+				char c = text.charAt(i);
+				if (c < '0' || c > '9') {
+					return -1;
+				}
+				result = result * 10 + (c - '0');
+			}
+
+			return result;
+		}
+
+		/**
+		 * The memorized values of a {@link DateConverter} for a time zone
+		 */
+		private static final class Memo {
+			final ZoneId 					zone;
+			final DateTimeFormatter 		formatter;
+			final boolean[]					shapes;
+			final Generations<String,Long> 	decoded;
+			final Generations<Long,String> 	encoded;
+
+			Memo(ZoneId zone, DateTimeFormatter formatter, boolean[] shapes, int capacity) {
+				this.zone 	   = zone;
+				this.formatter = formatter;
+				this.shapes    = shapes;
+				this.decoded   = new Generations<String,Long>(capacity);
+				this.encoded   = new Generations<Long,String>(capacity);
+			}
+		}
+
+		/**
+		 * A lock-free memo in two generations: once the young generation is full, it becomes the old generation,
+		 * and values found in the old generation are promoted into the young one, so the memo is never cleared at once
+		 */
+		private static final class Generations<K,V> {
+			private final int 		  capacity;
+			private volatile Map<K,V> young = new ConcurrentHashMap<K,V>();
+			private volatile Map<K,V> old   = Collections.emptyMap();
+
+			Generations(int capacity) {
+				this.capacity = Math.max(1, capacity / 2);
+			}
+
+			V get(K key) {
+				V value = young.get(key);
+				if (value == null && (value = old.get(key)) != null) {
+					put(key, value);
+				}
+				return value;
+			}
+
+			void put(K key, V value) {
+				Map<K,V> current = young;
+				if (current.size() >= capacity) {
+					synchronized (this) {
+						if (young == current) {
+							old   = current;
+							young = new ConcurrentHashMap<K,V>();
+						}
+					}
+				}
+				young.put(key, value);
+			}
+		}
 	}
 
+	/**
+	 * The converter for checklist item ISO date/time strings, e.g. {@link #END_DATE}
+	 */
+	public static final DateConverter ISO_DATES = new DateConverter(4096, DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSXXX", Locale.ENGLISH)) {
+		@Override
+		protected ZoneId getZone() {
+			DateTimeZone zone = ISO_DATE_TIME.getZone();
+			return (zone != null ? zone : DateTimeZone.getDefault()).toTimeZone().toZoneId();
+		}
+
+		@Override
+		protected Date parse(String text) {
+			return new Date(ISO_DATE_TIME.parseMillis(text));
+		}
+
+		@Override
+		protected String format(Date date) {
+			return ISO_DATE_TIME.print(date.getTime());
+		}
+	};
+
 	/**
 	 * Encode a {@link Date}, e.g. {@link #END_DATE}, into a checklist item ISO date/time string value
 	 * @param date to encode into an ISO date/time string
 	 * @return the ISO date/time string, or null, if the date was null
 	 */
 	public static String encodeIsoDate(Date date) {
-		return date != null ? ISO_DATE_TIME.print(date.getTime()) : null;
+		return date != null ? ISO_DATES.encode(date) : null;
 	}
 
 	/**
@@ -160,7 +1301,11 @@ public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 	 * @throws IllegalArgumentException if the dateStr is not an ISO date/time string
 	 */
 	public static Date decodeIsoDate(String dateStr) throws IllegalArgumentException {
-		return StringUtils.isNotBlank(dateStr) ? new Date(ISO_DATE_TIME.parseMillis(dateStr)) : null;
+		try {
+			return StringUtils.isNotBlank(dateStr) ? ISO_DATES.decode(dateStr) : null;
+		} catch (ParseException ex) {
+			throw new IllegalArgumentException(ex);
+		}
 	}
 
 	/**
@@ -189,27 +1334,71 @@ public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 	}
 
 	private static boolean setStatus(TrackerChoiceOptionDto status, String idOrName) {
-		if (status != null && (idOrName = StringUtils.trimToNull(idOrName)) != null) {
-			for (Map.Entry<String,String> entry : STATUS_NAME.entrySet()) {
-				if (StringUtils.equalsIgnoreCase(idOrName, entry.getKey()) ||
-					StringUtils.equalsIgnoreCase(idOrName, entry.getValue())) {
-					status.setStyle(entry.getKey());
-					status.setName(entry.getValue());
-
-					return true;
-				}
-			}
+		Status predefined = STATUSES.lookup(idOrName);
+		if (status != null && predefined != null) {
+			status.setStyle(predefined.getStyle());
+			status.setName(predefined.getName());
+
+			return true;
 		}
 
 		return false;
 	}
 
+	/**
+	 * Find the canonical status for the specified status name and style, or status id or name, without allocating any objects
+	 * @param status is a status id or name, or a status object, that only has a name and style
+	 * @return the canonical status, or null, if the specified status is anything else
+	 */
+	private static Status lookupStatus(Object status) {
+		if (status instanceof String || (status instanceof JsonNode && ((JsonNode) status).isTextual())) {
+			return STATUSES.lookup(status instanceof String ? (String) status : ((JsonNode) status).textValue());
+		} else if (status instanceof ObjectNode && ((ObjectNode) status).size() == 2) {
+			JsonNode name  = ((ObjectNode) status).get(NAME);
+			JsonNode style = ((ObjectNode) status).get(STYLE);
+			if (name != null && name.isTextual() && style != null && style.isTextual() && StringUtils.isNotBlank(style.textValue())) {
+				return STATUSES.get(name.textValue(), style.textValue());
+			}
+		} else if (status instanceof Map && ((Map<?,?>) status).size() == 2) {
+			Object name  = ((Map<?,?>) status).get(NAME);
+			Object style = ((Map<?,?>) status).get(STYLE);
+			if (name instanceof String && style instanceof String && StringUtils.isNotBlank((String) style)) {
+				return STATUSES.get((String) name, (String) style);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Get the canonical status of the specified status, e.g. to compare statuses or to read the status name and style
+	 * @param status is a status object, a status id or a status name
+	 * @return the shared canonical status with the name and style of the specified status, or null
+	 */
+	public static Status getCanonicalStatus(Object status) {
+		Status result = lookupStatus(status);
+		if (result == null) {
+			TrackerChoiceOptionDto option = getStatus(status);
+			if (option != null) {
+				result = STATUSES.get(option.getName(), option.getStyle());
+			}
+		}
+
+		return result;
+	}
+
 	/**
 	 * Convert the specified status, that can either be a status object, a status id or a status name into a status option
 	 * @param status to convert into a status option
-	 * @return the status as as {@link TrackerChoiceOptionDto}, or null
+	 * @return the status as as {@link TrackerChoiceOptionDto}, or null. A canonical status is returned as the shared {@link Status#getOption()}, that must not be modified.
 	 */
 	public static TrackerChoiceOptionDto getStatus(Object status) {
+		// Fast path for a predefined status id or name, and for a status object, that only has a name and style
+		Status canonical = lookupStatus(status);
+		if (canonical != null) {
+			return canonical.getOption();
+		}
+
 		TrackerChoiceOptionDto result = new TrackerChoiceOptionDto(PersistenceUtils.getId(status), PersistenceUtils.getName(status));
 
 		if (status != null) {
@@ -315,7 +1504,7 @@ public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 	}
 
 	/**
-	 * Render the plugin body, that is a JSON array of Checklist items, into a HTML table
+	 * Render the plugin body, that is a JSON array of Checklist items in any {@link Format}, into a HTML table
 	 * @param context is the plugin context
 	 * @param params are the plugin parameters
 	 */
@@ -325,7 +1514,7 @@ public class ChecklistPlugin extends AbstractCodeBeamerWikiPlugin {
 		String  body = (String) params.get("_body");
 
 		VelocityContext velocityContext = getDefaultVelocityContextFromContext(context);
-		velocityContext.put("checklist", prepareChecklist(BODY.parseJSON(body)));
+		velocityContext.put("checklist", prepareChecklist(Format.of(params).expand(BODY.parseJSON(body))));
 		velocityContext.put("today", 	 new Date());
 		velocityContext.put("tomorrow",  TODAY.getEdge(Edge.End, null, user.getTimeZone()));
 
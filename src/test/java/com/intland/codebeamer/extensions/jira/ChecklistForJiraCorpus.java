@@ -0,0 +1,458 @@
+/**
+ * Copyright 2021 Intland Software GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.intland.codebeamer.extensions.jira;
+
+import static com.intland.codebeamer.controller.AbstractJsonController.jsonMapper;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.ASSIGNEE_IDS;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.DESC_SEP;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.DUE_DATE;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.GLOBAL_ID;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.IS_HEADER;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.NONE;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.OPTION;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.PRIORITY_ID;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.RANK;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.ID;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.CHECKED;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.MANDATORY;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUS;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.intland.codebeamer.controller.jira.JiraRestClient;
+
+
+/**
+ * A deterministic generator of synthetic <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
+ * payloads and change histories, for load tests and benchmarks.
+ * <p>The same seed and settings always produce the same corpus, so that measurements are reproducible without a live Jira.
+ * Use {@link #main(String[])} to write a corpus as NDJSON, one issue per line, e.g.:</p>
+ * <pre>{"key":"CHK-1","checklist":[{"id":1,"name":"...","checked":false,...},...],"history":["1) [Added] ...",...]}</pre>
+ * @author <a href="mailto:Klaus.Mehling@intland.com">Klaus Mehling</a>
+ * @since Dorothy
+ */
+public class ChecklistForJiraCorpus {
+
+	public static final String[] STATUS_IDS  = {NONE, "inProgress", "blocked", "notApplicable"};
+	public static final String[] STATUS_NAME = {"In Progress", "Blocked", "N/A", "blocked", "n/a"};
+	public static final String[] PRIORITIES  = {"Highest", "High", "Medium", "Low", "Lowest"};
+	public static final String[] ASSIGNEES   = {"klaus", "jira-admin", "5b10ac8d82e05b22cc7d4ef5", "qa-team", "release-manager"};
+	public static final String[] CHANGES	 = {"Checked", "Unchecked", "Mandatory", "Optional", "Status changed", "Priority changed", "Due date changed", "Assigned", "Unassigned"};
+
+	public static final String[] VERBS 		 = {"Check", "Deploy", "Review", "Update", "Verify", "Build", "Test", "Document", "Approve", "Merge"};
+	public static final String[] NOUNS 		 = {"release notes", "staging server", "pull request", "test plan", "database schema", "user manual", "license", "changelog", "API", "installer"};
+	public static final String[] WORDS 		 = {"before", "after", "the", "new", "production", "all", "open", "issues", "with", "and", "final", "version", "customer", "team"};
+
+	/** The date in the Checklist for JIRA changelog, e.g. 05/Feb/21 */
+	public static final FastDateFormat HISTORY_DATE = FastDateFormat.getInstance("dd/MMM/yy", TimeZone.getTimeZone("UTC"), Locale.ENGLISH);
+
+	/** The due dates are relative to a fixed date (2021-02-05), not the current date, to be reproducible */
+	public static final long BASE_DATE = 1612483200000L;
+
+	private final Random random;
+
+	private int 	items 	  	 = 10;
+	private double 	markupRatio  = 0.3;
+	private double 	v5Ratio 	 = 0.5;
+	private int 	historyDepth = 5;
+
+	public ChecklistForJiraCorpus(long seed) {
+		this.random = new Random(seed);
+	}
+
+	public int getItems() {
+		return items;
+	}
+
+	/**
+	 * Set the number of items per checklist
+	 * @param items is the number of items per checklist
+	 * @return this corpus
+	 */
+	public ChecklistForJiraCorpus setItems(int items) {
+		this.items = Math.max(0, items);
+		return this;
+	}
+
+	public double getMarkupRatio() {
+		return markupRatio;
+	}
+
+	/**
+	 * Set the ratio of texts with markup
+	 * @param markupRatio is the ratio (0.0 to 1.0) of names and descriptions, that contain heavy markup, all other texts are plain text
+	 * @return this corpus
+	 */
+	public ChecklistForJiraCorpus setMarkupRatio(double markupRatio) {
+		this.markupRatio = Math.max(0.0, Math.min(1.0, markupRatio));
+		return this;
+	}
+
+	public double getV5Ratio() {
+		return v5Ratio;
+	}
+
+	/**
+	 * Set the ratio of Checklist for JIRA V5 checklists
+	 * @param v5Ratio is the ratio (0.0 to 1.0) of checklists, whose global items use a {@link ChecklistForJiraField#GLOBAL_ID},
+	 * all other checklists mark global items via the V4 {@link ChecklistForJiraField#OPTION}
+	 * @return this corpus
+	 */
+	public ChecklistForJiraCorpus setV5Ratio(double v5Ratio) {
+		this.v5Ratio = Math.max(0.0, Math.min(1.0, v5Ratio));
+		return this;
+	}
+
+	public int getHistoryDepth() {
+		return historyDepth;
+	}
+
+	/**
+	 * Set the number of changelog entries per issue
+	 * @param historyDepth is the number of changelog entries per issue
+	 * @return this corpus
+	 */
+	public ChecklistForJiraCorpus setHistoryDepth(int historyDepth) {
+		this.historyDepth = Math.max(0, historyDepth);
+		return this;
+	}
+
+	protected <T> T pick(T[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	protected boolean chance(double probability) {
+		return random.nextDouble() < probability;
+	}
+
+	/**
+	 * Create a random text
+	 * @param words is the number of additional words in the text
+	 * @param markup whether the text should contain heavy Checklist for JIRA markup, or only plain text
+	 * @return a random text
+	 */
+	public String createText(int words, boolean markup) {
+		StringBuilder text = new StringBuilder(words * 12 + 32);
+
+		text.append(pick(VERBS)).append(' ');
+		if (markup) {
+			String emphasis = (chance(0.5) ? "*" : "**");
+			text.append(emphasis).append(pick(NOUNS)).append(emphasis);
+		} else {
+			text.append(pick(NOUNS));
+		}
+
+		for (int i = 0; i < words; ++i) {
+			text.append(' ');
+
+			if (markup && chance(0.2)) {
+				switch (random.nextInt(4)) {
+				case 0:
+					text.append('*').append(pick(WORDS)).append('*');
+					break;
+				case 1:
+					text.append("**").append(pick(WORDS)).append("**");
+					break;
+				case 2:
+					text.append('[').append(pick(WORDS)).append("](https://example.com/browse/CHK-").append(random.nextInt(10000)).append(')');
+					break;
+				default:
+					text.append("![").append(pick(WORDS)).append("](screenshot-").append(random.nextInt(100)).append(".png)");
+				}
+			} else {
+				text.append(pick(WORDS));
+			}
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * Create a random item description, with multiple lines
+	 * @param markup whether the description should contain heavy Checklist for JIRA markup, or only plain text
+	 * @return a random item description
+	 */
+	public String createDescription(boolean markup) {
+		StringBuilder desc = new StringBuilder(256);
+
+		if (markup) {
+			desc.append("## ").append(createText(2, false)).append('\n');
+		}
+
+		desc.append(createText(8, markup));
+
+		if (markup && chance(0.5)) {
+			desc.append("\n    mvn -Drelease=").append(random.nextInt(100)).append(" deploy");
+		}
+
+		if (chance(0.3)) {
+			desc.append('\n').append(createText(5, markup));
+		}
+
+		return desc.toString();
+	}
+
+	/**
+	 * Create a random due date
+	 * @return a random day within one year after the {@link #BASE_DATE}
+	 */
+	public Date createDueDate() {
+		return new Date(BASE_DATE + random.nextInt(365) * 86400000L);
+	}
+
+	/**
+	 * Create a random Checklist for JIRA item
+	 * @param id is the item id
+	 * @param v5 whether to create a Checklist for JIRA V5 item, or a V4 item
+	 * @return a random Checklist for JIRA item
+	 */
+	public ObjectNode createItem(int id, boolean v5) {
+		ObjectNode item   = jsonMapper.createObjectNode();
+		boolean    header = chance(0.1);
+
+		item.set(ID, IntNode.valueOf(id));
+		item.set(RANK, IntNode.valueOf(id - 1));
+
+		String name = createText(random.nextInt(6), chance(markupRatio));
+		if (!header && chance(0.3)) {
+			name += DESC_SEP + "\n" + createDescription(chance(markupRatio));
+		}
+		item.set(NAME, TextNode.valueOf(name));
+
+		item.set(CHECKED,   BooleanNode.valueOf(!header && chance(0.4)));
+		item.set(MANDATORY, BooleanNode.valueOf(!header && chance(0.5)));
+
+		if (chance(0.25)) {
+			if (v5) {
+				item.set(GLOBAL_ID, IntNode.valueOf(1000 + random.nextInt(1000)));
+			} else {
+				item.set(OPTION, BooleanNode.TRUE);
+			}
+		}
+
+		if (header) {
+			item.set(IS_HEADER, BooleanNode.TRUE);
+		} else {
+			if (chance(0.5)) {
+				item.set(PRIORITY_ID, IntNode.valueOf(1 + random.nextInt(5)));
+			}
+
+			if (chance(0.3)) {
+				item.set(DUE_DATE, TextNode.valueOf(JiraRestClient.encodeDate(createDueDate())));
+			}
+
+			if (chance(0.6)) {
+				ObjectNode status = item.putObject(STATUS);
+				if (chance(0.1)) {
+					status.set(ID, TextNode.valueOf("custom-" + random.nextInt(5)));
+					status.set(NAME, TextNode.valueOf(createText(0, chance(markupRatio))));
+				} else {
+					status.set(ID, TextNode.valueOf(pick(STATUS_IDS)));
+				}
+			}
+
+			if (chance(0.3)) {
+				ArrayNode assignees = item.putArray(ASSIGNEE_IDS);
+				for (int i = 1 + random.nextInt(2); i > 0; --i) {
+					assignees.add(pick(ASSIGNEES));
+				}
+			}
+		}
+
+		return item;
+	}
+
+	/**
+	 * Create a random Checklist for JIRA with {@link #getItems()} items
+	 * @return a JSON array of random checklist items
+	 */
+	public ArrayNode createChecklist() {
+		ArrayNode checklist = jsonMapper.createArrayNode();
+		boolean   v5 		= chance(v5Ratio);
+
+		for (int id = 1; id <= items; ++id) {
+			checklist.add(createItem(id, v5));
+		}
+
+		return checklist;
+	}
+
+	/**
+	 * Create a random Checklist for JIRA changelog entry, as parsed by
+	 * {@link ChecklistForJiraField#getItemChanges(String, com.intland.codebeamer.controller.jira.JiraImportController)}
+	 * @param lines is the number of changed items
+	 * @return a random changelog entry, with one line per changed item
+	 */
+	public String createChange(int lines) {
+		StringBuilder change = new StringBuilder(lines * 100);
+
+		for (int key = 1; key <= lines; ++key) {
+			if (key > 1) {
+				change.append('\n');
+			}
+
+			change.append(key).append(") [");
+
+			int kind = random.nextInt(10);
+			if (kind == 0) {
+				change.append("Added");
+				if (chance(0.5)) {
+					change.append(", Mandatory");
+				}
+			} else if (kind == 1) {
+				change.append("Removed");
+			} else if (kind == 2) {
+				change.append("Modified");
+			} else {
+				change.append(pick(CHANGES));
+				if (chance(0.3)) {
+					change.append(", ").append(pick(CHANGES));
+				}
+			}
+			change.append("] ");
+
+			if (chance(0.05)) {
+				change.append("[H] ");
+			}
+
+			if (chance(0.4)) {
+				change.append('(').append(chance(0.8) ? pick(STATUS_NAME) : createText(0, false)).append(") ");
+			}
+
+			change.append(createText(random.nextInt(6), chance(markupRatio)));
+
+			if (chance(0.3)) {
+				change.append(" {").append(HISTORY_DATE.format(createDueDate())).append('}');
+			}
+
+			if (chance(0.3)) {
+				change.append('(').append(pick(ASSIGNEES));
+				if (chance(0.3)) {
+					change.append(", ").append(pick(ASSIGNEES));
+				}
+				change.append(')');
+			}
+
+			if (chance(0.3)) {
+				change.append('(').append(pick(PRIORITIES)).append("!)");
+			}
+
+			if (chance(0.2)) {
+				change.append(DESC_SEP).append('\n').append(createDescription(chance(markupRatio)));
+			}
+		}
+
+		if (lines > 1 && chance(0.1)) {
+			change.append("\nThe checklist items were reordered");
+		}
+
+		return change.toString();
+	}
+
+	/**
+	 * Create a random Jira issue with a checklist and a checklist history
+	 * @param key is the issue key
+	 * @return a JSON object with the issue <code>key</code>, the <code>checklist</code> and the <code>history</code>,
+	 * that is an array of {@link #getHistoryDepth()} changelog entries
+	 */
+	public ObjectNode createIssue(String key) {
+		ObjectNode issue = jsonMapper.createObjectNode();
+
+		issue.set("key", TextNode.valueOf(key));
+		issue.set("checklist", createChecklist());
+
+		ArrayNode history = issue.putArray("history");
+		for (int i = 0; i < historyDepth; ++i) {
+			history.add(createChange(1 + random.nextInt(Math.max(1, Math.min(items, 10)))));
+		}
+
+		return issue;
+	}
+
+	/**
+	 * Write the specified number of random issues as NDJSON, one issue per line
+	 * @param out is where to write the issues
+	 * @param issues is the number of issues to write
+	 * @throws IOException if writing failed
+	 */
+	public void write(Writer out, int issues) throws IOException {
+		for (int i = 1; i <= issues; ++i) {
+			out.write(jsonMapper.writeValueAsString(createIssue("CHK-" + i)));
+			out.write('\n');
+		}
+		out.flush();
+	}
+
+	/**
+	 * Write a corpus file
+	 * @param args are: file issues [items [markupRatio [historyDepth [seed]]]]
+	 * @throws IOException if writing the corpus file failed
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: ChecklistForJiraCorpus file issues [items [markupRatio [historyDepth [seed]]]]");
+			System.exit(1);
+		}
+
+		ChecklistForJiraCorpus corpus = new ChecklistForJiraCorpus(args.length > 5 ? Long.parseLong(args[5]) : 4711L);
+		if (args.length > 2) {
+			corpus.setItems(Integer.parseInt(args[2]));
+		}
+		if (args.length > 3) {
+			corpus.setMarkupRatio(Double.parseDouble(args[3]));
+		}
+		if (args.length > 4) {
+			corpus.setHistoryDepth(Integer.parseInt(args[4]));
+		}
+
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Paths.get(args[0])), StandardCharsets.UTF_8))) {
+			corpus.write(out, Integer.parseInt(args[1]));
+		}
+	}
+
+}
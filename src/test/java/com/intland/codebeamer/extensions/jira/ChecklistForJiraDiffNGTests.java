@@ -0,0 +1,331 @@
+/**
+ * Copyright 2021 Intland Software GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.intland.codebeamer.extensions.jira;
+
+import static com.intland.codebeamer.controller.AbstractJsonController.jsonMapper;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.GLOBAL_ID;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.RANK;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.CHECKED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraDiff.ItemChange;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraDiff.Kind;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for the item level comparison of <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC/pages/270172389/Modifying+Checklists+using+a+REST+API">Checklist for JIRA<a>
+ * checklists via {@link ChecklistForJiraDiff}
+ * @author <a href="mailto:Klaus.Mehling@intland.com">Klaus Mehling</a>
+ * @since Dorothy
+ */
+@Test
+public class ChecklistForJiraDiffNGTests {
+
+	/**
+	 * A local stand-in for the Jira checklist endpoint, that accepts the full checklist (PUT) or a change set (POST)
+	 */
+	public static class ChecklistEndpoint implements AutoCloseable {
+		private final HttpServer server;
+		private JsonNode		 checklist = jsonMapper.createArrayNode();
+		private int 			 requests  = 0;
+
+		public ChecklistEndpoint() throws IOException {
+			server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+			server.createContext("/rest/checklist", this::handle);
+			server.start();
+		}
+
+		public URL getURL() throws IOException {
+			return new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(), "/rest/checklist");
+		}
+
+		public synchronized JsonNode getChecklist() {
+			return checklist;
+		}
+
+		public synchronized void setChecklist(JsonNode checklist) {
+			this.checklist = checklist;
+		}
+
+		public synchronized int getRequests() {
+			return requests;
+		}
+
+		protected synchronized void handle(HttpExchange exchange) throws IOException {
+			int    status = 200;
+			byte[] body   = new byte[0];
+
+			requests++;
+
+			try (InputStream in = exchange.getRequestBody()) {
+				if ("GET".equals(exchange.getRequestMethod())) {
+					body = jsonMapper.writeValueAsBytes(checklist);
+				} else if ("PUT".equals(exchange.getRequestMethod())) {
+					checklist = jsonMapper.readTree(in);
+				} else if ("POST".equals(exchange.getRequestMethod())) {
+					checklist = ChecklistForJiraDiff.apply(checklist, jsonMapper.readTree(in));
+				} else {
+					status = 405;
+				}
+			} catch (IllegalStateException ex) {
+				status = 409;
+				body   = ex.getMessage().getBytes(StandardCharsets.UTF_8);
+			}
+
+			exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+
+		@Override
+		public void close() {
+			server.stop(0);
+		}
+	}
+
+	protected static int send(URL url, String method, JsonNode content) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			connection.setRequestMethod(method);
+			connection.setDoOutput(true);
+			connection.setRequestProperty("Content-Type", "application/json");
+
+			try (OutputStream out = connection.getOutputStream()) {
+				jsonMapper.writeValue(out, content);
+			}
+
+			return connection.getResponseCode();
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	protected static ObjectNode createItem(Integer globalId, String name, boolean checked) {
+		ObjectNode item = jsonMapper.createObjectNode();
+		if (globalId != null) {
+			item.put(GLOBAL_ID, globalId.intValue());
+		}
+		item.put(NAME, name);
+		item.put(CHECKED, checked);
+		return item;
+	}
+
+	protected static ArrayNode mutate(ArrayNode checklist, Random random) {
+		ArrayNode result = checklist.deepCopy();
+
+		for (int i = random.nextInt(4); i >= 0; --i) {
+			switch(random.nextInt(4)) {
+			case 0:
+				result.insert(random.nextInt(result.size() + 1), createItem(null, "Added " + random.nextInt(1000), random.nextBoolean()));
+				break;
+			case 1:
+				if (result.size() > 0) {
+					result.remove(random.nextInt(result.size()));
+				}
+				break;
+			case 2:
+				if (result.size() > 0) {
+					ObjectNode item = (ObjectNode) result.get(random.nextInt(result.size()));
+					item.set(CHECKED, BooleanNode.valueOf(!item.path(CHECKED).asBoolean()));
+				}
+				break;
+			default:
+				if (result.size() > 1) {
+					result.insert(random.nextInt(result.size() - 1), result.remove(random.nextInt(result.size())));
+				}
+			}
+		}
+
+		return result;
+	}
+
+	public void testCompare() throws Exception {
+		ArrayNode previous = jsonMapper.createArrayNode();
+		previous.add(createItem(Integer.valueOf(1), "Template item", false));
+		previous.add(createItem(null, "First", false));
+		previous.add(createItem(null, "Second", false));
+		previous.add(createItem(null, "Duplicate", false));
+		previous.add(createItem(null, "Duplicate", false));
+		previous.add(createItem(null, "Third", false));
+
+		assertTrue(ChecklistForJiraDiff.compare(previous, previous.deepCopy()).isEmpty(), "Same checklist");
+		assertTrue(ChecklistForJiraDiff.compare(null, null).isEmpty(), "No checklists");
+
+		ArrayNode current = previous.deepCopy();
+		((ObjectNode) current.get(0)).put(NAME, "Renamed template item");
+		((ObjectNode) current.get(2)).put(CHECKED, true);
+		((ObjectNode) current.get(4)).put(RANK, 42);
+		current.remove(1);
+		current.add(current.remove(0));
+		current.insert(1, createItem(null, "Added", true));
+
+		ChecklistForJiraDiff diff = ChecklistForJiraDiff.compare(previous, current);
+		assertFalse(diff.isEmpty(), "Changed checklist");
+
+		assertEquals(diff.getChanges(Kind.REMOVED).size(), 1, "Removed items");
+		assertEquals(diff.getChanges(Kind.REMOVED).get(0).getKey(), NAME + "=First", "Removed item");
+		assertEquals(diff.getChanges(Kind.REMOVED).get(0).getIndex(), 1, "Removed item index");
+
+		assertEquals(diff.getChanges(Kind.ADDED).size(), 1, "Added items");
+		assertEquals(diff.getChanges(Kind.ADDED).get(0).getIndex(), 1, "Added item index");
+		assertEquals(diff.getChanges(Kind.ADDED).get(0).getItem(), current.get(1), "Added item");
+
+		assertEquals(diff.getChanges(Kind.MODIFIED).size(), 2, "Modified items, rank is not significant");
+		assertEquals(diff.getChanges(Kind.MODIFIED).get(0).getKey(), NAME + "=Second", "Modified item");
+		assertEquals(diff.getChanges(Kind.MODIFIED).get(1).getKey(), GLOBAL_ID + "=1", "Modified template item, keyed on global ID");
+
+		ItemChange modified = diff.getChanges(Kind.MODIFIED).get(0);
+		assertEquals(modified.getOldHash(), ChecklistForJiraDiff.hash(previous.get(2)), "Old item hash");
+		assertEquals(modified.getNewHash(), ChecklistForJiraDiff.hash(current.get(0)), "New item hash");
+
+		assertEquals(diff.getChanges(Kind.REORDERED).size(), 1, "Reordered items");
+		assertEquals(diff.getChanges(Kind.REORDERED).get(0).getKey(), GLOBAL_ID + "=1", "Reordered item");
+		assertEquals(diff.getChanges(Kind.REORDERED).get(0).getIndex(), current.size() - 1, "Reordered item index");
+		assertNull(diff.getChanges(Kind.REORDERED).get(0).getItem(), "Reordered item is not transferred");
+
+		// The rank is derived from the item position
+		((ObjectNode) current.get(3)).remove(RANK);
+		assertEquals(ChecklistForJiraDiff.apply(previous, diff.toJson()), current, "Applied changes");
+	}
+
+	public void testApplyConflicts() throws Exception {
+		ArrayNode previous = jsonMapper.createArrayNode();
+		previous.add(createItem(null, "First", false));
+		previous.add(createItem(null, "Second", false));
+
+		ArrayNode current = previous.deepCopy();
+		((ObjectNode) current.get(1)).put(CHECKED, true);
+		current.add(createItem(null, "First", false));
+
+		JsonNode changes = ChecklistForJiraDiff.compare(previous, current).toJson();
+
+		ArrayNode concurrent = previous.deepCopy();
+		((ObjectNode) concurrent.get(1)).put(NAME, "Second item");
+		try {
+			ChecklistForJiraDiff.apply(concurrent, changes);
+			fail("Modified item does not exist any more");
+		} catch (IllegalStateException ex) {
+		}
+
+		concurrent = previous.deepCopy();
+		((ObjectNode) concurrent.get(1)).put(CHECKED, true);
+		concurrent.add(createItem(null, "Other", true));
+		try {
+			ChecklistForJiraDiff.apply(concurrent, changes);
+			fail("Item was modified concurrently");
+		} catch (IllegalStateException ex) {
+		}
+
+		concurrent = previous.deepCopy();
+		concurrent.add(createItem(null, "First", true));
+		try {
+			ChecklistForJiraDiff.apply(concurrent, changes);
+			fail("Added item already exists");
+		} catch (IllegalStateException ex) {
+		}
+	}
+
+	public void testRandomChanges() throws Exception {
+		ChecklistForJiraCorpus corpus = new ChecklistForJiraCorpus(4711).setItems(30).setMarkupRatio(0.2).setV5Ratio(0.5);
+		Random				   random = new Random(4711);
+
+		for (int i = 0; i < 200; ++i) {
+			ArrayNode previous = corpus.createChecklist();
+			ArrayNode current  = mutate(previous, random);
+
+			ChecklistForJiraDiff diff = ChecklistForJiraDiff.compare(previous, current);
+			assertEquals(ChecklistForJiraDiff.apply(previous, jsonMapper.readTree(jsonMapper.writeValueAsString(diff.toJson()))), current, "Applied changes " + diff);
+			assertTrue(diff.getChanges().size() <= 2 * Math.max(previous.size(), current.size()), "Compact change set");
+		}
+	}
+
+	public void testPartialUpdates() throws Exception {
+		ChecklistForJiraCorpus corpus = new ChecklistForJiraCorpus(815).setItems(50);
+		Random				   random = new Random(815);
+
+		try (ChecklistEndpoint endpoint = new ChecklistEndpoint()) {
+			ArrayNode exported = corpus.createChecklist();
+
+			assertEquals(send(endpoint.getURL(), "PUT", exported), 200, "Initial export");
+			assertEquals(endpoint.getChecklist(), exported, "Initial export");
+
+			for (int i = 0; i < 20; ++i) {
+				ArrayNode current = mutate(exported, random);
+
+				ChecklistForJiraDiff diff = ChecklistForJiraDiff.compare(exported, current);
+				if (!diff.isEmpty()) {
+					assertEquals(send(endpoint.getURL(), "POST", diff.toJson()), 200, "Partial update " + diff);
+				}
+				assertEquals(endpoint.getChecklist(), current, "Partial update " + diff);
+
+				exported = current;
+			}
+
+			// Simulate a concurrent change of a checked item in Jira
+			ArrayNode remote = exported.deepCopy();
+			ObjectNode item = (ObjectNode) remote.get(0);
+			item.put(CHECKED, !item.path(CHECKED).asBoolean());
+			endpoint.setChecklist(remote);
+
+			ArrayNode current = exported.deepCopy();
+			((ObjectNode) current.get(0)).put(RANK, 99);
+			((ObjectNode) current.get(0)).put(NAME, "Changed locally");
+
+			int requests = endpoint.getRequests();
+			assertEquals(send(endpoint.getURL(), "POST", ChecklistForJiraDiff.compare(exported, current).toJson()), 409, "Conflicting partial update");
+			assertEquals(endpoint.getRequests(), requests + 1, "Conflicting partial update");
+			assertEquals(endpoint.getChecklist(), remote, "Conflicting partial update is rejected");
+		}
+	}
+
+}
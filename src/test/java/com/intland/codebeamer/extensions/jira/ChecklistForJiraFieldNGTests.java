@@ -36,14 +36,18 @@ import static com.intland.codebeamer.controller.AbstractJsonController.jsonMappe
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.ASSIGNEE_IDS;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.DESC_SEP;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.DUE_DATE;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.EXPORTED;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.GLOBAL_ID;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.IS_HEADER;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.JIRA_DATES;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.NO_CHANGE;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.OPTION;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.PRIORITY_ID;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getChanges;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getChecklist;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getChecklistStatus;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getChecklists;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getItemChecklists;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getJiraPriorityId;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getOriginalItem;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraField.getPriority;
@@ -62,21 +66,39 @@ import static com.intland.codebeamer.persistence.util.PersistenceUtils.getToday;
 import static com.intland.codebeamer.persistence.util.TrackerItemFieldHandler.PRIORITY_LABEL_ID;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.io.StringWriter;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-
+import java.util.Random;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
@@ -87,7 +109,11 @@ import com.intland.codebeamer.controller.jira.JiraImportController;
 import com.intland.codebeamer.controller.jira.JiraRestClient;
 import com.intland.codebeamer.controller.jira.JiraTrackerSyncConfig;
 import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.Change;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.Change.Kind;
 import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.Checklist;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.Fingerprints;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.NewItemKey;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraField.PriorityTable;
 import com.intland.codebeamer.manager.util.ImportStatistics;
 import com.intland.codebeamer.manager.util.ImporterSupport;
 import com.intland.codebeamer.manager.util.TrackerItemHistoryConfiguration;
@@ -95,6 +121,7 @@ import com.intland.codebeamer.persistence.dto.TrackerChoiceOptionDto;
 import com.intland.codebeamer.persistence.dto.TrackerItemDto;
 import com.intland.codebeamer.persistence.dto.TrackerLayoutLabelDto;
 import com.intland.codebeamer.wiki.plugins.ChecklistPlugin;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.Format;
 import com.intland.codebeamer.wiki.plugins.ChecklistPluginNGTests;
 
 import net.sf.mpxj.CustomField;
@@ -117,6 +144,15 @@ public class ChecklistForJiraFieldNGTests {
 
 	@BeforeClass
 	public void setupJiraTrackerSyncConfig() {
+		setupPriorityMapping(tracker);
+	}
+
+	/**
+	 * Setup a mapping between the Jira priorities (Low, Medium, High) and the codeBeamer priorities (Low, Normal, High)
+	 * @param tracker is the JIRA tracker sync configuration to setup
+	 * @return the tracker
+	 */
+	public static JiraTrackerSyncConfig setupPriorityMapping(JiraTrackerSyncConfig tracker) {
 		TrackerChoiceOptionDto low    = new TrackerChoiceOptionDto(Integer.valueOf(4), "Low");
 		TrackerChoiceOptionDto normal = new TrackerChoiceOptionDto(Integer.valueOf(3), "Normal");
 		TrackerChoiceOptionDto high   = new TrackerChoiceOptionDto(Integer.valueOf(2), "High");
@@ -142,6 +178,8 @@ public class ChecklistForJiraFieldNGTests {
 		cb2jira.put(high.getId(),   jiraHigh);
 
 		tracker.setOptionExport(PRIORITY_LABEL_ID, cb2jira);
+
+		return tracker;
 	}
 
 	@Test
@@ -181,6 +219,107 @@ public class ChecklistForJiraFieldNGTests {
 		assertEquals(jiraHighId,  Integer.valueOf(1), "Jira priority mapped to 2 (High)");
 	}
 
+	@Test
+	public void testDecodeDueDate() throws Exception {
+		String[] encoded = {
+			"05/Feb/21", "05/feb/21", "05/FEB/2021", "31/Dec/99", "29/Feb/20", "29/Feb/21", "00/Jan/00", "01/Jan/45", "01/Jan/46", "15/Aug/0021",
+			"05/02/21", "05/02/2021", "31/12/1999", "31/13/21", "32/01/21", "05/00/21",
+			"5/Feb/21", "05/February/21", "05/Feb/021", "05/02/021", "05-02-21", "05/Fbr/21", "05/02/21 extra", "2021-02-05", "Not a date"
+		};
+
+		for (String date : encoded) {
+			Date expected = null;
+
+			for (FastDateFormat format : Change.DUE_DATE_FORMATS) {
+				try {
+					expected = format.parse(date);
+					break;
+				} catch (ParseException ex) {
+					// Try next format
+				}
+			}
+
+			assertEquals(Change.decodeDueDate(date), expected, "Decoded due date " + date);
+		}
+
+		assertNull(Change.decodeDueDate(" "), "Blank due date");
+		assertNull(Change.parseDueDate("5/Feb/21"), "Unknown shape");
+	}
+
+	@Test
+	public void testJiraDates() throws Exception {
+		String[] encoded = {
+			"2021-02-05T10:20:30.123+0100", "2021-07-15T00:00:00.000-0800", "2020-02-29T23:59:59.999+0530",
+			"2021-02-05T10:20:30.123Z", "2021-02-05T10:20:30.123+01:00", "2021-02-30T10:20:30.123+0100",
+			"2021-02-05", "2021-07-15", "2020-02-29", "2021-02-30", "05/Feb/21", "Not a date"
+		};
+
+		for (String date : encoded) {
+			Object expected;
+			Object decoded;
+
+			try {
+				expected = JiraRestClient.decodeDate(date);
+			} catch (ParseException ex) {
+				expected = ParseException.class;
+			}
+
+			for (int pass = 0; pass < 2; ++pass) {
+				try {
+					decoded = JIRA_DATES.decode(date);
+				} catch (ParseException ex) {
+					decoded = ParseException.class;
+				}
+
+				assertEquals(decoded, expected, "Decoded like decodeDate " + date + " in pass " + pass);
+			}
+		}
+
+		Date date = JiraRestClient.decodeDate(encoded[0]);
+		assertEquals(JIRA_DATES.encode(date), JiraRestClient.encodeDate(date), "Encoded like encodeDate");
+	}
+
+	@Test
+	public void testPriorityTable() throws Exception {
+		JiraTrackerSyncConfig other = setupPriorityMapping(new JiraTrackerSyncConfig());
+
+		PriorityTable table = new PriorityTable(other);
+		assertEquals(table.getPriority("Medium"), table.getPriority(Integer.valueOf(2)), "Same priority for Jira id and name");
+		assertSame(table.getPriority("Medium"), table.getPriority(Integer.valueOf(2)), "Priority nodes are shared");
+		assertEquals(getPriority(other, "Medium"), table.getPriority("Medium"), "Priority node");
+		assertNull(table.getPriority("Unknown"), "Unmapped Jira priority");
+
+		assertEquals(table.getJiraPriorityId(Integer.valueOf(3)), Integer.valueOf(2), "Exported priority id");
+		assertEquals(table.getJiraPriorityId(Integer.valueOf(3)), Integer.valueOf(2), "Memorized exported priority id");
+		assertNull(table.getJiraPriorityId(Integer.valueOf(1)), "Unmapped codeBeamer priority id");
+		assertNull(table.getJiraPriorityId(Integer.valueOf(1)), "Memorized unmapped codeBeamer priority id");
+		assertEquals(table.getJiraPriorityId(getPriority(other, "Medium")), Integer.valueOf(2), "Exported priority");
+
+		PriorityTable shared = PriorityTable.of(other);
+		assertSame(PriorityTable.of(other), shared, "One table per tracker configuration");
+		assertEquals(shared.getPriority("Medium"), table.getPriority("Medium"), "Shared table");
+
+		Map<Object,TrackerChoiceOptionDto> mapping = new HashMap<Object,TrackerChoiceOptionDto>();
+		mapping.put("Medium", new TrackerChoiceOptionDto(Integer.valueOf(5), null));
+
+		Map<Integer,TrackerChoiceOptionDto> export = new HashMap<Integer,TrackerChoiceOptionDto>();
+		export.put(Integer.valueOf(3), new TrackerChoiceOptionDto(Integer.valueOf(7), "Other"));
+
+		other.setChoiceValueMapping(PRIORITY_LABEL_ID, mapping);
+		other.setOptionExport(PRIORITY_LABEL_ID, export);
+
+		assertEquals(table.getPriority(Integer.valueOf(2)), getPriority(tracker, Integer.valueOf(2)), "The mapping is read once per table");
+
+		PriorityTable rebuilt = new PriorityTable(other);
+		assertEquals(rebuilt.getPriority("Medium"), IntNode.valueOf(5), "Priority without name");
+		assertEquals(rebuilt.getJiraPriorityId(Integer.valueOf(3)), Integer.valueOf(7), "Changed export option");
+		assertNull(rebuilt.getPriority(Integer.valueOf(2)), "Priority no longer mapped");
+
+		assertNotSame(PriorityTable.of(other), shared, "Changed tracker configuration");
+		assertEquals(PriorityTable.of(other).getPriority("Medium"), IntNode.valueOf(5), "Changed tracker configuration");
+		assertSame(PriorityTable.of(other), PriorityTable.of(other), "One table per tracker configuration");
+	}
+
 	public static ObjectNode createChecklistItem(Integer id, String name, String description, Integer prio, String status, Date dueDate,
 													boolean option, boolean header, boolean mandatory, boolean checked) {
 		assertNotNull(name, "Checklist item name required");
@@ -463,10 +602,10 @@ public class ChecklistForJiraFieldNGTests {
 	public void testChecklistCaching() throws Exception {
 		ImporterSupport importer = new ImporterSupport();
 
-		Map<Integer,JsonNode> cache = getChecklists(importer, false);
+		Map<Object,? extends Map<Integer,JsonNode>> cache = getItemChecklists(importer, false);
 		assertNull(cache, "Checklists cache");
 
-		cache = getChecklists(importer, true);
+		cache = getItemChecklists(importer, true);
 		assertNotNull(cache, "Checklists cache");
 
 		TrackerItemDto item = new TrackerItemDto(Integer.valueOf(1000));
@@ -474,7 +613,7 @@ public class ChecklistForJiraFieldNGTests {
 		TrackerLayoutLabelDto field = new TrackerLayoutLabelDto(TrackerLayoutLabelDto.getCustomFieldId(0), "DoD");
 		field.setInputType(TrackerLayoutLabelDto.WIKITEXT);
 
-		assertFalse(cache.containsKey(field.getId()), "Field checklist cached");
+		assertNull(getChecklists(importer, item, false), "Item checklists cache");
 
 		ArrayNode checklist = jsonMapper.createArrayNode();
 		checklist.add(ChecklistPluginNGTests.createChecklistItem(null, "!4 Test items", null, null, null, true, true, false, false));
@@ -495,7 +634,12 @@ public class ChecklistForJiraFieldNGTests {
 		checklist_ = getChecklist(tracker, item, field, importer, statistics);
 		assertNotNull(checklist_, "Cached field checklist");
 		assertEquals(checklist_, checklist, "Cached field checklist");
-		assertTrue(cache.containsKey(field.getId()), "Field checklist cached");
+		assertTrue(cache.containsKey(item.getId()), "Item checklists cached");
+		assertTrue(getChecklists(importer, item, false).containsKey(field.getId()), "Field checklist cached");
+
+		TrackerItemDto other = new TrackerItemDto(Integer.valueOf(1001));
+		assertNotNull(getChecklist(tracker, other, field, importer, statistics), "Other item checklist");
+		assertNotSame(getChecklist(tracker, other, field, importer, statistics), checklist_, "Checklists are cached per item");
 
 		checklist.add(ChecklistPluginNGTests.createChecklistItem(null, "Test item", null, null, null, true, false, true, false));
 
@@ -505,7 +649,98 @@ public class ChecklistForJiraFieldNGTests {
 		assertSame(checklist_, checklist, "Cached checklist");
 
 		adapter.resetChecklist(item, field, importer);
-		assertFalse(cache.containsKey(field.getId()), "Field checklist cached");
+		assertFalse(cache.containsKey(item.getId()), "Item checklists cached");
+		assertTrue(cache.containsKey(other.getId()), "Other item checklists cached");
+
+		TrackerItemDto created = new TrackerItemDto();
+		setChecklist(created, field, checklist, importer);
+		assertTrue(cache.containsKey(new NewItemKey(created)), "New item checklists cached");
+
+		created.setId(Integer.valueOf(1002));
+		assertSame(getChecklist(tracker, created, field, importer, statistics), checklist, "New item checklist cached for assigned id");
+		assertFalse(cache.containsKey(new NewItemKey(created)), "New item checklists moved to assigned id");
+		assertTrue(cache.containsKey(created.getId()), "New item checklists moved to assigned id");
+
+		TrackerLayoutLabelDto otherField = new TrackerLayoutLabelDto(TrackerLayoutLabelDto.getCustomFieldId(1), "DoR");
+		otherField.setInputType(TrackerLayoutLabelDto.WIKITEXT);
+		setChecklist(created, otherField, checklist, importer);
+
+		adapter.resetChecklist(null, field, importer);
+		assertFalse(cache.containsKey(other.getId()), "Field checklists of all items reset");
+		assertTrue(getChecklists(importer, created, false).containsKey(otherField.getId()), "Other field checklists not reset");
+		assertFalse(getChecklists(importer, created, false).containsKey(field.getId()), "Field checklists of all items reset");
+
+		Map<Integer,JsonNode> legacy = getChecklists(importer, true);
+		legacy.put(field.getId(), checklist);
+		assertSame(getChecklists(importer, false), legacy, "Checklists not associated with an item");
+		assertSame(getChecklists(importer, null, false), legacy, "Checklists not associated with an item");
+
+		adapter.resetChecklist(null, field, importer);
+		assertFalse(legacy.containsKey(field.getId()), "Field checklists not associated with an item reset");
+
+		adapter.resetChecklist(null, null, importer);
+		assertTrue(cache.isEmpty(), "All checklists reset");
+	}
+
+	@Test(dependsOnMethods = {"testImportExportChecklist", "testChecklistCaching"})
+	public void testParallelImport() throws Exception {
+		ChecklistForJiraCorpus corpus     = new ChecklistForJiraCorpus(4711).setItems(20).setMarkupRatio(0.5);
+		List<JsonNode>		   checklists = new ArrayList<JsonNode>();
+		List<String>		   expected   = new ArrayList<String>();
+
+		for (int i = 0; i < 100; ++i) {
+			ArrayNode checklist = corpus.createChecklist();
+
+			checklists.add(checklist.deepCopy());
+			expected.add(adapter.importChecklist(tracker, checklist, controller));
+		}
+
+		assertEquals(adapter.importChecklists(tracker, checklists, controller), expected, "Parallel import");
+		assertTrue(adapter.importChecklists(tracker, null, controller).isEmpty(), "Empty import");
+
+		final ImporterSupport		importer = new ImporterSupport();
+		final TrackerLayoutLabelDto field    = new TrackerLayoutLabelDto(TrackerLayoutLabelDto.getCustomFieldId(0), "DoD");
+		field.setInputType(TrackerLayoutLabelDto.WIKITEXT);
+
+		ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				List<RecursiveAction> items = new ArrayList<RecursiveAction>();
+
+				for (int i = 0; i < 100; ++i) {
+					final TrackerItemDto item = new TrackerItemDto(Integer.valueOf(2000 + i));
+
+					items.add(new RecursiveAction() {
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						protected void compute() {
+							ArrayNode checklist = jsonMapper.createArrayNode();
+							checklist.add(ChecklistPluginNGTests.createChecklistItem(item.getId(), "Item " + item.getId(), null, null, null, false, false, false, false));
+
+							assertNotNull(getChecklist(tracker, item, field, importer, null), "Item checklist");
+							setChecklist(item, field, checklist, importer);
+							assertSame(getChecklist(tracker, item, field, importer, null), checklist, "Item checklist");
+						}
+					});
+				}
+
+				invokeAll(items);
+			}
+		});
+
+		assertEquals(getItemChecklists(importer, false).size(), 100, "Checklists per item");
+
+		for (int i = 0; i < 100; ++i) {
+			TrackerItemDto item = new TrackerItemDto(Integer.valueOf(2000 + i));
+
+			assertEquals(getString(getChecklist(tracker, item, field, importer, null).get(0), NAME), "Item " + item.getId(), "Item checklist");
+			adapter.resetChecklist(item, field, importer);
+		}
+
+		assertTrue(getItemChecklists(importer, false).isEmpty(), "All checklists reset");
 	}
 
 	@Test(dependsOnMethods = {"testChecklistItemChanges", "testChecklistCaching"})
@@ -611,5 +846,554 @@ public class ChecklistForJiraFieldNGTests {
 		adapter.resetChecklist(item, field, importer);
 	}
 
+	@Test(dependsOnMethods = {"testImportExportChecklist", "testChecklistItemChanges"})
+	public void testSyntheticCorpus() throws Exception {
+		StringWriter corpus1 = new StringWriter();
+		StringWriter corpus2 = new StringWriter();
+
+		new ChecklistForJiraCorpus(42).setItems(20).setMarkupRatio(0.5).setHistoryDepth(3).write(corpus1, 10);
+		new ChecklistForJiraCorpus(42).setItems(20).setMarkupRatio(0.5).setHistoryDepth(3).write(corpus2, 10);
+
+		assertEquals(corpus1.toString(), corpus2.toString(), "Same seed, same corpus");
+
+		String[] issues = StringUtils.split(corpus1.toString(), '\n');
+		assertEquals(issues.length, 10, "Number of generated issues");
+
+		for (String line : issues) {
+			JsonNode issue = jsonMapper.readTree(line);
+			JsonNode checklist = issue.get("checklist");
+			assertEquals(checklist.size(), 20, "Number of generated checklist items");
+
+			String imported = adapter.importChecklist(tracker, checklist.deepCopy(), controller);
+			assertNotNull(imported, "Imported synthetic checklist");
+
+			JsonNode exported = adapter.exportChecklist(tracker, imported);
+			assertNotNull(exported, "Exported synthetic checklist");
+			assertEquals(exported.size(), checklist.size(), "Number of exported checklist items");
+
+			for (JsonNode history : issue.get("history")) {
+				Map<Integer,Change> changes = adapter.getItemChanges(history.asText(), controller);
+				assertFalse(changes.isEmpty(), "Parsed synthetic checklist changes");
+			}
+		}
+	}
+
+	/**
+	 * The former line splitting of {@link ChecklistForJiraField#getItemChanges(String, JiraImportController)} via {@link StringTokenizer}
+	 */
+	protected static Map<Integer,String> splitItemChanges(String lines) {
+		Map<Integer,String> result = new TreeMap<Integer,String>();
+		Integer				key    = null;
+		String				cmd    = null;
+		StringBuilder		val    = new StringBuilder(256);
+
+		for (StringTokenizer parser = new StringTokenizer(lines, "\n\r"); parser.hasMoreTokens();) {
+			String line = parser.nextToken();
+
+			if ((cmd = StringUtils.trimToNull(line)) != null) {
+				for (int i = 0; i < cmd.length(); ++i) {
+					if (!Character.isDigit(cmd.charAt(i))) {
+						if (i > 0 && cmd.charAt(i) == ')') {
+							if (key != null && val.length() > 0) {
+								result.put(key, val.toString());
+								val.delete(0, val.length());
+							}
+
+							key = Integer.valueOf(cmd.substring(0, i));
+							cmd = StringUtils.trimToNull(cmd.substring(i + 1));
+						}
+						break;
+					}
+				}
+			}
+
+			if (key != null) {
+				if (val.length() > 0) {
+					val.append('\n');
+					if (cmd != null) {
+						val.append(line);
+					}
+				} else if (cmd != null) {
+					val.append(cmd);
+				}
+			} else if (StringUtils.containsIgnoreCase(line, "items were reordered")) {
+				result.put(Integer.valueOf(9999), "[reordered]");
+			}
+		}
+
+		if (key != null && val.length() > 0) {
+			result.put(key, val.toString());
+		}
+
+		return result;
+	}
+
+	protected static void assertChange(Change actual, Change expected, String message) {
+		assertEquals(actual.toString(), expected.toString(), message);
+		assertEquals(actual.getName(), expected.getName(), message + " name");
+		assertEquals(actual.getDescription(), expected.getDescription(), message + " description");
+		assertEquals(actual.getStatus(), expected.getStatus(), message + " status");
+		assertEquals(actual.getPriority(), expected.getPriority(), message + " priority");
+		assertEquals(actual.getAssigneeIds(), expected.getAssigneeIds(), message + " assignees");
+		assertEquals(actual.getDueDate(), expected.getDueDate(), message + " due date");
+	}
+
+	@Test
+	public void testItemChangesParser() throws Exception {
+		ChecklistForJiraCorpus corpus = new ChecklistForJiraCorpus(4711).setItems(20).setMarkupRatio(0.5);
+		List<String>		   texts  = new ArrayList<String>(Arrays.asList(
+			"The checklist items were reordered",
+			"1) [Added][H] Header\n2) (In Progress) [Checked] Do *something* {05/Feb/21} (jsmith, jdoe) (High!)",
+			"\n 3)   \n  [Modified] Name \r\n>> Description\n\n   \n>> more\n  4)[Removed]",
+			"1234567890) [Added] Large key\n1a) Not a key\n)\n5) [Added, , Mandatory ] (Open) Last  "
+		));
+
+		for (int i = 0; i < 20; ++i) {
+			String text = corpus.createChange(1 + i % 5);
+
+			texts.add(text);
+			texts.add(text.replace("\n", "\r\n"));
+			texts.add(text.replace("\n", " \n\n"));
+		}
+
+		for (String text : texts) {
+			Map<Integer,String> expected = splitItemChanges(text);
+			Map<Integer,Change> changes  = adapter.getItemChanges(text, controller);
+
+			assertEquals(changes.keySet(), expected.keySet(), "Change keys of " + text);
+
+			for (Map.Entry<Integer,String> entry : expected.entrySet()) {
+				assertChange(changes.get(entry.getKey()), new Change(entry.getValue()), "Change " + entry.getKey() + " of " + text);
+			}
+		}
+
+		String spec = "1) [Checked, Mandatory] (Done) Item\n>> Text {05/Feb/21} (jdoe) (Low!)";
+		assertChange(new Change(" " + spec + " ", 4, spec.length() + 1), new Change(spec.substring(3)), "Change in range");
+	}
+
+	/**
+	 * The former linear {@link Checklist#removeItem(String)}
+	 */
+	protected static ObjectNode removeItem(ArrayNode items, String name) {
+		for (Iterator<JsonNode> it = items.iterator(); it.hasNext();) {
+			JsonNode item = it.next();
+			if (item == null || !item.isObject()) {
+				it.remove();
+			} else if (name != null && name.equals(getString(item, NAME))) {
+				it.remove();
+				return (ObjectNode) item;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The former linear {@link Checklist#getItem(String)}
+	 */
+	protected static ObjectNode getItem(ArrayNode items, String name) {
+		for (JsonNode item : items) {
+			if (item instanceof ObjectNode && name != null && name.equals(getString(item, NAME))) {
+				return (ObjectNode) item;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testChecklistIndex() throws Exception {
+		Random random = new Random(4711);
+
+		for (int run = 0; run < 50; ++run) {
+			ArrayNode items = jsonMapper.createArrayNode();
+			for (int i = 0; i < 30; ++i) {
+				if (random.nextInt(10) == 0) {
+					items.add(i);
+				} else {
+					items.addObject().put(NAME, "Item " + random.nextInt(20));
+				}
+			}
+
+			ArrayNode expected  = items.deepCopy();
+			Checklist checklist = new Checklist(items.deepCopy());
+
+			for (int op = 0; op < 60; ++op) {
+				String name = (random.nextInt(20) == 0 ? null : "Item " + random.nextInt(25));
+
+				switch(random.nextInt(5)) {
+				case 0:
+					expected.addObject().put(NAME, name);
+					checklist.addItem().put(NAME, name);
+					break;
+				case 1:
+					assertEquals(checklist.removeItem(name), removeItem(expected, name), "Removed " + name);
+					break;
+				case 2:
+					String newName = "Item " + random.nextInt(25);
+					ObjectNode item = getItem(expected, name);
+					assertEquals(checklist.getItem(name), item, "Item " + name);
+
+					if (item != null) {
+						item.put(NAME, newName);
+						checklist.getItem(name).put(NAME, newName);
+					}
+					break;
+				case 3:
+					assertEquals(checklist.getItem(name), getItem(expected, name), "Item " + name);
+					break;
+				default:
+					assertEquals(checklist.size(), expected.size(), "Checklist size");
+					if (random.nextInt(4) == 0) {
+						assertEquals(checklist.getItems(), expected, "Checklist items");
+					}
+				}
+			}
+
+			assertEquals(checklist.getItems(), expected, "Checklist items");
+		}
+	}
+
+	@Test
+	public void testChecklistSnapshot() throws Exception {
+		Random    random  = new Random(4711);
+		ArrayNode current = jsonMapper.createArrayNode();
+
+		for (int i = 0; i < 200; ++i) {
+			current.addObject().put(NAME, "Item " + i).put(CHECKED, false);
+		}
+
+		// Replay a history of changes, where each change only modifies a few items
+		for (int entry = 0; entry < 300; ++entry) {
+			ArrayNode previous = current.deepCopy();
+			Checklist expected = new Checklist(current.deepCopy());
+			Checklist snapshot = Checklist.snapshot(current);
+			String	  name	   = "Item " + random.nextInt(250);
+
+			switch(random.nextInt(4)) {
+			case 0:
+				String added = "Item " + (200 + entry);
+				expected.addItem().put(NAME, added);
+				snapshot.addItem().put(NAME, added);
+				break;
+			case 1:
+				assertEquals(snapshot.removeItem(name), expected.removeItem(name), "Removed " + name);
+				break;
+			default:
+				ObjectNode item = expected.getItem(name);
+				assertEquals(snapshot.getItem(name), item, "Item " + name);
+
+				if (item != null) {
+					item.put(CHECKED, entry % 2 == 0);
+					snapshot.getItem(name).put(CHECKED, entry % 2 == 0).put(NAME, name + "'");
+					expected.getItem(name).put(NAME, name + "'");
+				}
+			}
+
+			ArrayNode items = snapshot.getItems();
+			assertEquals(items, expected.getItems(), "Snapshot " + entry);
+			assertEquals(current, previous, "Previous snapshot " + entry + " is unchanged");
+
+			// All items, that were not modified, are shared with the previous snapshot
+			int shared = 0;
+			for (JsonNode item : items) {
+				for (JsonNode old : current) {
+					if (item == old) {
+						shared++;
+						break;
+					}
+				}
+			}
+			assertTrue(shared >= Math.min(items.size(), current.size()) - 1, "Shared items of snapshot " + entry);
+
+			current = items;
+		}
+
+		assertNotSame(Checklist.snapshot(current).getItems(), current, "Snapshot items");
+		assertEquals(Checklist.snapshot(null).getItems(), jsonMapper.createArrayNode(), "Snapshot of no items");
+	}
+
+	/**
+	 * The former quadratic {@link Checklist#applyOrder(JsonNode)}
+	 */
+	protected static ArrayNode applyOrder(ArrayNode items, JsonNode ordered) {
+		if (ordered.size() == 0 || items.size() <= 1) {
+			return items;
+		}
+
+		ArrayNode reordered = jsonMapper.createArrayNode();
+
+		for (JsonNode item : ordered) {
+			if (removeItem(items, getString(item, NAME)) != null) {
+				reordered.add(item);
+			}
+		}
+
+		return reordered.addAll(items);
+	}
+
+	protected static ArrayNode createOrderedItems(Random random, int size, int names, double nonObjects) {
+		ArrayNode items = jsonMapper.createArrayNode();
+
+		for (int i = 0; i < size; ++i) {
+			if (random.nextDouble() < nonObjects) {
+				items.add(i);
+			} else {
+				items.addObject().put(NAME, "Item " + random.nextInt(names)).put(ID, i);
+			}
+		}
+
+		return items;
+	}
+
+	@Test
+	public void testApplyOrder() throws Exception {
+		Random random = new Random(4711);
+
+		for (int run = 0; run < 200; ++run) {
+			ArrayNode items   = createOrderedItems(random, 1 + random.nextInt(20), 10, run % 2 == 0 ? 0.0 : 0.2);
+			ArrayNode ordered = createOrderedItems(random, 1 + random.nextInt(20), 12, run % 4 == 1 ? 0.1 : 0.0);
+
+			ArrayNode expected = applyOrder(items.deepCopy(), ordered);
+			ArrayNode actual   = new Checklist(items.deepCopy()).applyOrder(ordered).getItems();
+
+			assertEquals(actual, expected, "Applied order of " + ordered + " to " + items);
+		}
+
+		ArrayNode items = createOrderedItems(random, 10, 5, 0.0);
+		assertSame(new Checklist(items).applyOrder(items).getItems(), items, "Own order");
+		assertSame(new Checklist(items).applyOrder(jsonMapper.createArrayNode()).getItems(), items, "Empty order");
+	}
+
+	@Test(timeOut = 60000)
+	public void testApplyOrderScaling() throws Exception {
+		Random	  random   = new Random(815);
+		ArrayNode items    = createOrderedItems(random, 10000, 2500, 0.0);
+		ArrayNode ordered  = jsonMapper.createArrayNode();
+
+		for (int i = items.size() - 1; i >= 0; --i) {
+			ordered.add(items.get(i).deepCopy());
+		}
+
+		ArrayNode expected = applyOrder(items.deepCopy(), ordered);
+		ArrayNode actual   = new Checklist(items.deepCopy()).applyOrder(ordered).getItems();
+		assertEquals(actual, expected, "Applied reverse order to 10k items");
+
+		for (int i = 0; i < items.size(); ++i) {
+			assertSame(actual.get(i), ordered.get(i), "The ordered node is kept");
+		}
+
+		// Applying the order is linear, so 100 times 10k items finish well within the time out
+		for (int i = 0; i < 100; ++i) {
+			new Checklist(items.deepCopy()).applyOrder(ordered);
+		}
+	}
+
+	@Test
+	public void testChangeKinds() throws Exception {
+		Change change = new Change("[Added, Checked, Unchecked, Mandatory, Optional, Moved elsewhere, moved ELSEWHERE] (Open) Item");
+
+		assertEquals(change.getChanged(), EnumSet.of(Kind.ADDED, Kind.STATUS_CHANGED, Kind.PRIORITY_CHANGED, Kind.DUE_DATE_CHANGED, Kind.ASSIGNED,
+													 Kind.CHECKED, Kind.UNCHECKED, Kind.MANDATORY, Kind.OPTIONAL), "Change kinds");
+		assertEquals(change.getUnknownChanges(), Arrays.asList("moved elsewhere"), "Unknown change tokens");
+		assertTrue(change.hasChanged("added"), "Added");
+		assertTrue(change.hasChanged(Kind.ASSIGNED), "Adding implies assigned");
+		assertFalse(change.hasChanged("Added"), "Change tokens are lower case");
+		assertTrue(change.hasChanged("moved elsewhere"), "Unknown change token");
+		assertFalse(change.hasChanged("removed"), "Not removed");
+		assertEquals(change.toString(), "[added, assigned, checked, due date changed, mandatory, moved elsewhere, optional, priority changed, status changed, unchecked] (Open) Item", "Change string");
+
+		assertSame(Kind.of("Due Date Changed"), Kind.DUE_DATE_CHANGED, "Change kind of token");
+		assertNull(Kind.of("unknown"), "Unknown change kind");
+
+		// Conflicting kinds are applied in a fixed order, so unchecked and optional win
+		ObjectNode item = jsonMapper.createObjectNode();
+		change.apply(tracker, item);
+
+		assertEquals(getString(item, NAME), "Item", "Applied name");
+		assertFalse(getBoolean(item, CHECKED), "Applied unchecked");
+		assertFalse(getBoolean(item, MANDATORY), "Applied optional");
+		assertNotNull(item.get(STATUS), "Applied status");
+		assertTrue(item.get(ASSIGNEE_IDS).isArray(), "Applied assignees");
+
+		change = new Change("[Something new]");
+		assertTrue(change.getChanged().isEmpty(), "No known change kinds");
+
+		item = jsonMapper.createObjectNode();
+		change.apply(tracker, item);
+		assertEquals(item.size(), 0, "Unknown changes are not applied");
+	}
+
+	@Test(dependsOnMethods = {"testImportExportChecklist"})
+	public void testStreamingImport() throws Exception {
+		ChecklistForJiraCorpus corpus = new ChecklistForJiraCorpus(4711).setItems(50).setMarkupRatio(0.5);
+
+		String[] checklists = {
+			"null",
+			"[]",
+			"{\"name\": \"Not a checklist\"}",
+			"[1, \"Plain\", null, [{\"name\": \"Nested *item*\"}], {\"name\": \"Do *something*\", \"rank\": 0, \"isHeader\": true}]",
+			jsonMapper.writeValueAsString(corpus.createChecklist()),
+			jsonMapper.writeValueAsString(corpus.createChecklist())
+		};
+
+		for (String checklist : checklists) {
+			String expected = adapter.importChecklist(tracker, jsonMapper.readTree(checklist), controller);
+
+			try (JsonParser parser = jsonMapper.getFactory().createParser(checklist)) {
+				assertEquals(adapter.importChecklist(tracker, parser, controller), expected, "Streamed import of " + checklist);
+			}
+		}
+	}
+
+	@Test(dependsOnMethods = {"testImportExportChecklist"})
+	public void testStreamingExport() throws Exception {
+		ChecklistForJiraCorpus corpus = new ChecklistForJiraCorpus(4711).setItems(50).setMarkupRatio(0.5);
+
+		String[] markups = {
+			null,
+			"No checklist at all",
+			ChecklistPlugin.PLUGIN_HEADER + ChecklistPlugin.PLUGIN_FOOTER,
+			ChecklistPlugin.wrapChecklist(null),
+			ChecklistPlugin.PLUGIN_HEADER + "{\"name\": \"Not a checklist\"}" + ChecklistPlugin.PLUGIN_FOOTER,
+			ChecklistPlugin.PLUGIN_HEADER + "[1, \"Plain\", null, [{\"name\": \"Nested ''item''\"}], {\"name\": \"Do ''something''\", \"header\": true}]" + ChecklistPlugin.PLUGIN_FOOTER,
+			ChecklistPlugin.PLUGIN_HEADER_V2_SHORT + "[{\"n\":\"Do ''something''\",\"h\":true},{\"n\":\"Check\",\"s\":\"blocked\",\"c\":true}]" + ChecklistPlugin.PLUGIN_FOOTER,
+			adapter.importChecklist(tracker, corpus.createChecklist(), controller),
+			adapter.importChecklist(tracker, corpus.createChecklist(), controller)
+		};
+
+		for (String markup : markups) {
+			String		 expected = jsonMapper.writeValueAsString(adapter.exportChecklist(tracker, markup));
+			StringWriter exported = new StringWriter();
+
+			try (JsonGenerator jira = jsonMapper.getFactory().createGenerator(exported)) {
+				adapter.exportChecklist(tracker, markup, jira);
+			}
+
+			assertEquals(exported.toString(), expected, "Streamed export of " + markup);
+		}
+	}
+
+	@Test
+	public void testFingerprintsEviction() throws Exception {
+		Fingerprints fingerprints = new Fingerprints(3);
+		for (long key = 1; key <= 3; ++key) {
+			fingerprints.put(Long.valueOf(key), key, -key);
+		}
+
+		assertTrue(fingerprints.matches(Long.valueOf(1), 1, -1), "Stored fingerprints");
+		assertFalse(fingerprints.matches(Long.valueOf(1), 1, 1), "Other fingerprints");
+
+		fingerprints.put(Long.valueOf(4), 4, -4);
+		assertFalse(fingerprints.matches(Long.valueOf(2), 2, -2), "Least recently used fingerprints evicted");
+
+		for (long key : new long[] {1, 3, 4}) {
+			assertTrue(fingerprints.matches(Long.valueOf(key), key, -key), "Recently used fingerprints " + key + " kept");
+		}
+
+		fingerprints.clear();
+		assertFalse(fingerprints.matches(Long.valueOf(1), 1, -1), "Cleared fingerprints");
+		assertFalse(fingerprints.matches(null), "No key");
+	}
+
+	@Test(dependsOnMethods = {"testImportExportChecklist"})
+	public void testExportFingerprint() throws Exception {
+		ArrayNode checklist = jsonMapper.createArrayNode();
+		checklist.add(ChecklistPluginNGTests.createChecklistItem(null, "!4 Test items", null, null, null, true, true, false, false));
+		checklist.add(ChecklistPluginNGTests.createChecklistItem(null, "Test  item", "Do ''something''", null, null, false, false, true, false));
+
+		Format format = ChecklistPlugin.getBodyFormat();
+		String markup = ChecklistPlugin.wrapChecklist(checklist);
+		try {
+			ChecklistPlugin.setBodyFormat(Format.V1);
+			assertEquals(ChecklistPlugin.fingerprint(ChecklistPlugin.wrapChecklist(checklist)), ChecklistPlugin.fingerprint(markup), "Pretty and minified checklist fingerprint");
+		} finally {
+			ChecklistPlugin.setBodyFormat(format);
+		}
+
+		assertEquals(ChecklistPlugin.fingerprint(null), 0L, "Null fingerprint");
+		assertNotEquals(ChecklistPlugin.fingerprint(markup.replace("Test  item", "Test item")), ChecklistPlugin.fingerprint(markup), "Whitespace in strings is significant");
+		assertNotEquals(ChecklistPlugin.fingerprint("[]"), ChecklistPlugin.fingerprint(ChecklistPlugin.PLUGIN_HEADER + "[]" + ChecklistPlugin.PLUGIN_FOOTER), "Body and non-body fingerprint");
+
+		TrackerItemDto item = new TrackerItemDto(Integer.valueOf(3000));
+
+		TrackerLayoutLabelDto field = new TrackerLayoutLabelDto(TrackerLayoutLabelDto.getCustomFieldId(0), "DoD");
+		field.setInputType(TrackerLayoutLabelDto.WIKITEXT);
+
+		JsonNode exported = adapter.exportChecklist(tracker, item, field, markup);
+		assertEquals(exported, adapter.exportChecklist(tracker, markup), "First export");
+		assertNotSame(adapter.exportChecklist(tracker, item, field, markup), NO_CHANGE, "Export before the update succeeded");
+
+		adapter.exportSucceeded(tracker, item, field, markup);
+		assertSame(adapter.exportChecklist(tracker, item, field, markup), NO_CHANGE, "Unchanged export");
+
+		JiraTrackerSyncConfig remapped = setupPriorityMapping(new JiraTrackerSyncConfig());
+		remapped.getChoiceValueMapping(PRIORITY_LABEL_ID).put("Lowest", new TrackerChoiceOptionDto(Integer.valueOf(5), "Lowest"));
+		assertEquals(ChecklistForJiraField.fingerprint(setupPriorityMapping(new JiraTrackerSyncConfig())), ChecklistForJiraField.fingerprint(tracker), "Same tracker configuration");
+		assertNotEquals(ChecklistForJiraField.fingerprint(remapped), ChecklistForJiraField.fingerprint(tracker), "Changed priority mapping");
+		assertNotSame(adapter.exportChecklist(remapped, item, field, markup), NO_CHANGE, "Export after changed priority mapping");
+
+		checklist.add(ChecklistPluginNGTests.createChecklistItem(null, "Another item", null, null, null, false, false, false, false));
+		markup = ChecklistPlugin.wrapChecklist(checklist);
+
+		exported = adapter.exportChecklist(tracker, item, field, markup);
+		assertNotSame(exported, NO_CHANGE, "Changed export");
+		assertEquals(exported.size(), 3, "Changed export");
+		assertNotSame(adapter.exportChecklist(tracker, item, field, markup), NO_CHANGE, "Export after failed update");
+
+		adapter.exportSucceeded(tracker, item, field, markup);
+		assertSame(adapter.exportChecklist(tracker, item, field, markup), NO_CHANGE, "Unchanged export");
+
+		EXPORTED.remove(item, field);
+		assertNotSame(adapter.exportChecklist(tracker, item, field, markup), NO_CHANGE, "Export after removed fingerprint");
+
+		adapter.exportSucceeded(tracker, new TrackerItemDto(), field, markup);
+		assertNotSame(adapter.exportChecklist(tracker, new TrackerItemDto(), field, markup), NO_CHANGE, "Export of new item");
+	}
+
+	@Test(dependsOnMethods = {"testImportExportChecklist"})
+	public void testImportFingerprint() throws Exception {
+		ChecklistForJiraCorpus corpus    = new ChecklistForJiraCorpus(4711).setItems(10).setMarkupRatio(0.5);
+		ArrayNode			   checklist = corpus.createChecklist();
+
+		ArrayNode reordered = jsonMapper.createArrayNode();
+		for (JsonNode item : checklist) {
+			List<String> names = new ArrayList<String>();
+			item.fieldNames().forEachRemaining(names::add);
+			Collections.reverse(names);
+
+			ObjectNode item_ = reordered.addObject();
+			for (String name : names) {
+				item_.set(name, item.get(name));
+			}
+		}
+
+		assertEquals(ChecklistForJiraField.fingerprint(reordered), ChecklistForJiraField.fingerprint(checklist), "Property order is not significant");
+
+		ArrayNode swapped = checklist.deepCopy();
+		swapped.insert(0, swapped.remove(1));
+		assertNotEquals(ChecklistForJiraField.fingerprint(swapped), ChecklistForJiraField.fingerprint(checklist), "Item order is significant");
+
+		TrackerItemDto item = new TrackerItemDto(Integer.valueOf(4000));
+
+		TrackerLayoutLabelDto field = new TrackerLayoutLabelDto(TrackerLayoutLabelDto.getCustomFieldId(0), "DoD");
+		field.setInputType(TrackerLayoutLabelDto.WIKITEXT);
+
+		String markup = adapter.importChecklist(tracker, item, field, checklist.deepCopy(), controller);
+		assertEquals(markup, adapter.importChecklist(tracker, checklist.deepCopy(), controller), "First import");
+
+		field.setValue(item, markup);
+		assertSame(adapter.importChecklist(tracker, item, field, reordered, controller), markup, "Unchanged import");
+
+		JiraTrackerSyncConfig remapped = setupPriorityMapping(new JiraTrackerSyncConfig());
+		remapped.getChoiceValueMapping(PRIORITY_LABEL_ID).put("Lowest", new TrackerChoiceOptionDto(Integer.valueOf(5), "Lowest"));
+		assertNotSame(adapter.importChecklist(remapped, item, field, checklist.deepCopy(), controller), markup, "Import after changed priority mapping");
+		assertNotSame(adapter.importChecklist(tracker, item, field, checklist.deepCopy(), controller), markup, "Import after changed priority mapping");
+		assertSame(adapter.importChecklist(tracker, item, field, checklist.deepCopy(), controller), markup, "Unchanged import");
+
+		String swapped_ = adapter.importChecklist(tracker, item, field, swapped.deepCopy(), controller);
+		assertEquals(swapped_, adapter.importChecklist(tracker, swapped.deepCopy(), controller), "Changed import");
+
+		field.setValue(item, swapped_.replace("[{", "[{\"name\":\"Local item\"},{"));
+		assertEquals(adapter.importChecklist(tracker, item, field, swapped.deepCopy(), controller), swapped_, "Import after local edit");
+	}
 
 }
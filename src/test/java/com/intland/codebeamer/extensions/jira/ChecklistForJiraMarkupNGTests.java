@@ -29,12 +29,37 @@
  */
 package com.intland.codebeamer.extensions.jira;
 
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CB_2_CHECKLIST;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CB_2_CHECKLIST_STATISTICS;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CB_MARKUP_PATTERN;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CHECKLIST_2_CB;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CHECKLIST_2_CB_CACHE;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CHECKLIST_2_CB_STATISTICS;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CHECKLIST_MARKUP_PATTERN;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.CONVERSION_GUARD;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.cb2checklist;
 import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.checklist2cb;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.hasCBMarkup;
+import static com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.hasChecklistMarkup;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
 import org.testng.annotations.Test;
 
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.Cache;
+import com.intland.codebeamer.extensions.jira.ChecklistForJiraMarkup.Guard;
+import com.intland.codebeamer.utils.RegexpUtils;
+
 /**
  * Tests for the special {@link ChecklistForJiraMarkup} converter between
  * <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>
@@ -76,6 +101,61 @@ public class ChecklistForJiraMarkupNGTests {
 		assertEquals(cbMarkup, "Code example\n{{{a + b = c;}}}", csMarkup);
 	}
 
+	/**
+	 * Checklist for JIRA markup, where the regular expression based conversion fails, because a code line starts with an asterisk
+	 */
+	private static final Pattern CHECKLIST_CODE_EMPHASIS = Pattern.compile("(?:^|\\n) {4}\\s*\\*");
+
+	/**
+	 * Generate random markup from the specified tokens
+	 */
+	public static String createMarkup(Random random, String[] tokens, int maxTokens) {
+		StringBuilder markup = new StringBuilder(maxTokens * 4);
+
+		for (int count = random.nextInt(maxTokens + 1); count > 0; --count) {
+			markup.append(tokens[random.nextInt(tokens.length)]);
+		}
+
+		return markup.toString();
+	}
+
+	/**
+	 * Test that the single pass conversion of Checklist for JIRA Markup to codeBeamer Wiki markup produces the same result,
+	 * as the regular expression based conversion
+	 */
+	@SuppressWarnings("deprecation")
+	public void testChecklist2cbLikeRegexp() throws Exception {
+		String[] tokens = {"[", "]", "(", ")", "!", "#", "##", "*", "**", " ", "    ", "\n", "\r", "\t", "a", "b c", ".", "_", "~", "\u2028"};
+		Random   random = new Random(4711);
+
+		for (int i = 0; i < 100000; ++i) {
+			String csMarkup = createMarkup(random, tokens, 20);
+			if (StringUtils.isNotBlank(csMarkup) && !CHECKLIST_CODE_EMPHASIS.matcher(csMarkup).find()) {
+				String cbMarkup = RegexpUtils.replaceAllRegexpMatches(csMarkup, CHECKLIST_MARKUP_PATTERN, CHECKLIST_2_CB);
+
+				assertEquals(checklist2cb(csMarkup), cbMarkup, csMarkup);
+			}
+		}
+
+		String csMarkup = "Plain text without any markup";
+		assertSame(checklist2cb(csMarkup), csMarkup, csMarkup);
+
+		csMarkup = "Text with *unbalanced [markup] (";
+		assertSame(checklist2cb(csMarkup), csMarkup, csMarkup);
+	}
+
+	/**
+	 * Test that the conversion of Checklist for JIRA Markup to codeBeamer Wiki markup is linear, even for pathological input
+	 */
+	@Test(timeOut = 10000)
+	public void testChecklist2cbLinearTime() throws Exception {
+		for (String unbalanced : new String[] {"[", "![", "[a] ", "[a](", " *a", " **a", "\n#"}) {
+			String csMarkup = StringUtils.repeat(unbalanced, 200000);
+
+			assertEquals(checklist2cb(csMarkup).length(), csMarkup.length(), unbalanced);
+		}
+	}
+
 	/**
 	 * Test the conversion of codeBeamer Wiki markup to
 	 * <a href="https://okapya.atlassian.net/wiki/spaces/CHKDOC5/pages/1951662210/Using+special+formatting">Checklist for JIRA Markup<a>
@@ -112,4 +192,174 @@ public class ChecklistForJiraMarkupNGTests {
 		assertEquals(csMarkup, "    int max(int a, int b)", cbMarkup);
 	}
 
+	/**
+	 * Test that the single pass conversion of codeBeamer Wiki markup to Checklist for JIRA Markup produces the same result,
+	 * as the regular expression based conversion
+	 */
+	@SuppressWarnings("deprecation")
+	public void testCBtoChecklistLikeRegexp() throws Exception {
+		String[] tokens = {"[", "]", "|", "'", "''", "_", "__", "!", "!2", "!7", "{{{", "}}}", "}", "\n", "\r", " ", "a", "b c", ".png"};
+		Random   random = new Random(4711);
+
+		for (int i = 0; i < 100000; ++i) {
+			String cbMarkup = createMarkup(random, tokens, 20);
+			if (StringUtils.isNotBlank(cbMarkup)) {
+				String csMarkup = RegexpUtils.replaceAllRegexpMatches(cbMarkup, CB_MARKUP_PATTERN, CB_2_CHECKLIST);
+
+				assertEquals(cb2checklist(cbMarkup), csMarkup, cbMarkup);
+			}
+		}
+
+		String cbMarkup = "Plain text without any markup";
+		assertSame(cb2checklist(cbMarkup), cbMarkup, cbMarkup);
+	}
+
+	/**
+	 * Test that the conversion of codeBeamer Wiki markup to Checklist for JIRA Markup is linear, even for pathological input
+	 */
+	@Test(timeOut = 10000)
+	public void testCBtoChecklistLinearTime() throws Exception {
+		for (String unbalanced : new String[] {"[", "[a|", "|]", "''", "'' a", "__", "__ a", "{{{", "\n{{{"}) {
+			String cbMarkup = StringUtils.repeat(unbalanced, 200000);
+
+			assertNotNull(cb2checklist(cbMarkup), unbalanced);
+		}
+	}
+
+	/**
+	 * Test that plain text without any markup trigger characters is returned unchanged, without scanning for markup
+	 */
+	public void testPlainTextFastPath() throws Exception {
+		assertFalse(hasChecklistMarkup("Code reviewed"), "Plain text");
+		assertFalse(hasChecklistMarkup("Indented\n   text"), "3 spaces are no code");
+		assertTrue (hasChecklistMarkup("Code\n    a + b"), "4 spaces are code");
+		assertTrue (hasChecklistMarkup("Do *something*"), "Italic");
+		assertTrue (hasChecklistMarkup("# Header"), "Header");
+
+		assertFalse(hasCBMarkup("QA sign-off"), "Plain text");
+		assertFalse(hasCBMarkup("Code\n    a + b"), "Spaces are no Wiki markup");
+		assertTrue (hasCBMarkup("Say ''Hallo''"), "Italic");
+		assertTrue (hasCBMarkup("{{{code}}}"), "Code");
+
+		long plain  = CHECKLIST_2_CB_STATISTICS.getPlainText();
+		long markup = CHECKLIST_2_CB_STATISTICS.getMarkupText();
+
+		String csMarkup = "Code reviewed";
+		assertSame(checklist2cb(csMarkup), csMarkup, csMarkup);
+		assertEquals(CHECKLIST_2_CB_STATISTICS.getPlainText(), plain + 1, "Plain text conversions");
+
+		assertEquals(checklist2cb("Do *something*"), "Do ''something''", "Markup conversion");
+		assertEquals(CHECKLIST_2_CB_STATISTICS.getMarkupText(), markup + 1, "Markup conversions");
+
+		plain  = CB_2_CHECKLIST_STATISTICS.getPlainText();
+		markup = CB_2_CHECKLIST_STATISTICS.getMarkupText();
+
+		String cbMarkup = "QA sign-off";
+		assertSame(cb2checklist(cbMarkup), cbMarkup, cbMarkup);
+		assertEquals(CB_2_CHECKLIST_STATISTICS.getPlainText(), plain + 1, "Plain text conversions");
+
+		assertEquals(cb2checklist("Say ''Hallo''"), "Say *Hallo*", "Markup conversion");
+		assertEquals(CB_2_CHECKLIST_STATISTICS.getMarkupText(), markup + 1, "Markup conversions");
+	}
+
+	/**
+	 * Test the bounded least recently used conversion cache
+	 */
+	public void testConversionCache() throws Exception {
+		Cache cache = new Cache(2);
+
+		cache.put("*a*", "''a''");
+		cache.put("*b*", "''b''");
+		assertEquals(cache.get("*a*"), "''a''", "Cached conversion");
+
+		cache.put("*c*", "''c''");
+		assertEquals(cache.size(), 2, "Cache size");
+		assertEquals(cache.getEvictions(), 1, "Cache evictions");
+		assertNull(cache.get("*b*"), "Least recently used conversion evicted");
+		assertEquals(cache.get("*c*"), "''c''", "Cached conversion");
+		assertEquals(cache.getHits(), 2, "Cache hits");
+		assertEquals(cache.getMisses(), 1, "Cache misses");
+
+		cache.setCapacity(0);
+		assertEquals(cache.size(), 0, "Disabled cache size");
+		assertNull(cache.get("*c*"), "Disabled cache");
+
+		int   count   = 4 * Cache.MAX_STRIPES * Cache.MIN_STRIPE_CAPACITY;
+		Cache striped = new Cache(count / 4);
+		for (int i = 0; i < count; ++i) {
+			striped.put("*" + i + "*", "''" + i + "''");
+			assertEquals(striped.get("*" + i + "*"), "''" + i + "''", "Cached conversion");
+		}
+		assertTrue(striped.size() <= striped.getCapacity(), "Striped cache size");
+		assertTrue(striped.size() > striped.getCapacity() / 2, "Striped cache size");
+		assertEquals(striped.getEvictions(), count - striped.size(), "Striped cache evictions");
+
+		striped.setCapacity(2);
+		assertEquals(striped.size(), 2, "Shrunk cache size");
+		assertEquals(striped.getEvictions(), count - 2, "Shrunk cache evictions");
+
+		String csMarkup = "Code *reviewed*";
+		String cbMarkup = checklist2cb(csMarkup);
+		if (CHECKLIST_2_CB_CACHE.isEnabled()) {
+			long hits = CHECKLIST_2_CB_CACHE.getHits();
+
+			assertSame(checklist2cb(csMarkup), cbMarkup, "Cached conversion");
+			assertEquals(CHECKLIST_2_CB_CACHE.getHits(), hits + 1, "Cache hits");
+		}
+	}
+
+	@Test
+	public void testAppendConversion() throws IOException {
+		Random   random = new Random(4711);
+		String[] tokens = {"*", "**", "#", "[", "]", "(", ")", "!", "{{", "}}", "''", "__", " ", "\n", "a", "b.png"};
+
+		for (int i = 0; i < 1000; i++) {
+			String markup = createMarkup(random, tokens, 12);
+
+			assertEquals(checklist2cb(markup, new StringBuilder("Prefix")).toString(), "Prefix" + checklist2cb(markup), "Appended " + markup);
+			assertEquals(cb2checklist(markup, new StringBuilder("Prefix")).toString(), "Prefix" + cb2checklist(markup), "Appended " + markup);
+			assertEquals(checklist2cb(markup, (Appendable) new StringWriter()).toString(), checklist2cb(markup), "Appended " + markup);
+			assertEquals(cb2checklist(markup, (Appendable) new StringWriter()).toString(), cb2checklist(markup), "Appended " + markup);
+		}
+
+		assertEquals(checklist2cb(null, new StringBuilder("Prefix")).toString(), "Prefix", "Appended null");
+		assertEquals(cb2checklist(null, new StringBuilder("Prefix")).toString(), "Prefix", "Appended null");
+	}
+
+	@Test
+	public void testConversionGuard() {
+		Guard guard = new Guard(100, 10);
+		assertEquals(guard.sample("Short"), "\"Short\" (5 chars)", "Short sample");
+
+		guard.setSampleLength(10);
+		assertEquals(guard.sample("A much longer text"), "\"A much ...\" (18 chars)", "Truncated sample");
+
+		int maxLength = CONVERSION_GUARD.getMaxLength();
+		int maxSteps  = CONVERSION_GUARD.getMaxSteps();
+		try {
+			CONVERSION_GUARD.setMaxSteps(2);
+
+			long exceeded = CHECKLIST_2_CB_STATISTICS.getExceeded();
+			assertEquals(checklist2cb("Guarded *a* and *b*"), "Guarded ''a'' and ''b''", "Within step budget");
+			assertEquals(checklist2cb("Guarded *a* and *b* and *c*"), "Guarded *a* and *b* and *c*", "Step budget exceeded");
+			assertEquals(checklist2cb("Guarded *[a](b) [c](d)*"), "Guarded *[a](b) [c](d)*", "Nested step budget exceeded");
+			assertEquals(CHECKLIST_2_CB_STATISTICS.getExceeded(), exceeded + 2, "Exceeded budgets");
+
+			exceeded = CB_2_CHECKLIST_STATISTICS.getExceeded();
+			assertEquals(cb2checklist("Guarded ''a'' and __b__"), "Guarded *a* and **b**", "Within step budget");
+			assertEquals(cb2checklist(new StringBuilder("Guarded ''a'' and __b__ and ''c''"), new StringBuilder("Prefix ")).toString(),
+						 "Prefix Guarded ''a'' and __b__ and ''c''", "Step budget exceeded");
+			assertEquals(CB_2_CHECKLIST_STATISTICS.getExceeded(), exceeded + 1, "Exceeded budgets");
+
+			CONVERSION_GUARD.setMaxSteps(maxSteps);
+			CONVERSION_GUARD.setMaxLength(16);
+
+			assertEquals(checklist2cb("Guarded **long** text"), "Guarded **long** text", "Length budget exceeded");
+			assertEquals(cb2checklist("Guarded __long__ text"), "Guarded __long__ text", "Length budget exceeded");
+		} finally {
+			CONVERSION_GUARD.setMaxLength(maxLength);
+			CONVERSION_GUARD.setMaxSteps(maxSteps);
+		}
+	}
+
 }
@@ -30,9 +30,11 @@
 package com.intland.codebeamer.wiki.plugins;
 
 import static com.intland.codebeamer.controller.AbstractJsonController.jsonMapper;
+import static com.intland.codebeamer.controller.support.ResponseViewHandler.ISO_DATE_TIME;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.DESCRIPTION;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.ID;
 import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.NAME;
+import static com.intland.codebeamer.manager.util.TrackerSyncConfigurationDto.STYLE;
 import static com.intland.codebeamer.persistence.util.PersistenceUtils.getToday;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.BODY;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.CHECKED;
@@ -41,13 +43,24 @@ import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.HEADER;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.MANDATORY;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PINNED;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PLUGIN_FOOTER;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.KEYS;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PLUGIN_HEADER;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PLUGIN_HEADER_V2;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.PLUGIN_HEADER_V2_SHORT;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.SHORT;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUS;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUS_NAME;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.STATUSES;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.VERSION;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.decodeIsoDate;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.encodeIsoDate;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getBodyFormat;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getCanonicalStatus;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getFormat;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getPriority;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.getStatus;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.prepareChecklist;
+import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.setBodyFormat;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.unwrapChecklist;
 import static com.intland.codebeamer.wiki.plugins.ChecklistPlugin.wrapChecklist;
 import static org.mockito.Mockito.mock;
@@ -55,15 +68,27 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.io.File;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.joda.time.DateTimeZone;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -82,6 +107,11 @@ import com.intland.codebeamer.persistence.dto.base.NamedDto;
 import com.intland.codebeamer.servlet.CBPaths;
 import com.intland.codebeamer.wiki.CodeBeamerWikiContext;
 import com.intland.codebeamer.wiki.plugins.ChecklistPlugin;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.DateConverter;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.Format;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.LazyChecklist;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.Status;
+import com.intland.codebeamer.wiki.plugins.ChecklistPlugin.StatusRegistry;
 
 
 /**
@@ -199,6 +229,188 @@ public class ChecklistPluginNGTests  {
 		assertNull(status.getStyle(), "Resolved style");
 	}
 
+	@Test
+	public void testStatusRegistry() throws Exception {
+		StatusRegistry registry = new StatusRegistry(STATUS_NAME, 2);
+
+		Status inProgress = registry.lookup("inprogress");
+		assertNotNull(inProgress, "Lookup by id ignoring case");
+		assertEquals(inProgress.getName(), "In Progress", "In Progress name");
+		assertEquals(inProgress.getStyle(), "inProgress", "In Progress style");
+		assertSame(registry.lookup(" IN PROGRESS\t"), inProgress, "Lookup by trimmed name ignoring case");
+		assertSame(registry.get("In Progress", "inProgress"), inProgress, "Predefined status by name and style");
+		assertEquals(inProgress.getNode(), jsonMapper.createObjectNode().put(NAME, "In Progress").put(STYLE, "inProgress"), "Status node");
+		assertEquals(inProgress.getJiraNode(), jsonMapper.createObjectNode().put(ID, "inProgress"), "Jira status node");
+
+		assertSame(registry.lookup("N/A"), registry.lookup("notApplicable"), "Lookup N/A");
+		assertSame(registry.lookup("BLOCKED"), registry.get("Blocked", "blocked"), "Lookup blocked");
+		assertNull(registry.lookup("block"), "Unknown status");
+		assertNull(registry.lookup("in  progress"), "Unknown status");
+		assertNull(registry.lookup(" "), "Blank status");
+		assertNull(registry.get(" ", "blocked"), "Blank status name");
+
+		Status custom = registry.get("Waiting", null);
+		assertNotNull(custom, "Custom status");
+		assertEquals(custom.getNode(), TextNode.valueOf("Waiting"), "Custom status node");
+		assertNull(custom.getJiraNode(), "Custom status without style");
+		assertSame(registry.get("Waiting", " "), custom, "Interned custom status");
+		assertNotSame(registry.get("Waiting", "waiting"), custom, "Custom status with style");
+		assertSame(registry.get("Waiting", "waiting"), registry.get("Waiting", "waiting"), "Interned custom status with style");
+		assertEquals(registry.getCustomCount(), 2, "Interned custom statuses");
+		assertNotSame(registry.get("Blocked", "inProgress"), registry.lookup("blocked"), "Custom status with predefined style");
+		assertNotSame(registry.get("Pending", null), registry.get("Pending", null), "Custom statuses beyond the bound are not interned");
+		assertEquals(registry.getOverflows(), 3, "Custom statuses beyond the bound");
+
+		assertSame(inProgress.getNode(), inProgress.getNode(), "Status nodes are shared");
+		assertSame(inProgress.getJiraNode(), inProgress.getJiraNode(), "Jira status nodes are shared");
+
+		TrackerChoiceOptionDto option = getStatus("in progress");
+		assertEquals(option.getName(), "In Progress", "Status option name");
+		assertEquals(option.getStyle(), "inProgress", "Status option style");
+		assertSame(getStatus("in progress"), option, "Status options are shared");
+		assertSame(getStatus(jsonMapper.createObjectNode().put(NAME, "In Progress").put(STYLE, "inProgress")), option, "Status options are shared");
+
+		assertSame(getCanonicalStatus(jsonMapper.createObjectNode().put(NAME, "In Progress").put(STYLE, "inProgress")), STATUSES.lookup("in progress"), "Canonical status");
+		assertSame(getCanonicalStatus(TextNode.valueOf("Undefined")), getCanonicalStatus("Undefined"), "Canonical custom status");
+		assertNull(getCanonicalStatus(" "), "No canonical status");
+
+		Map<String,String> many = new HashMap<String,String>();
+		for (int i = 0; i < 100; ++i) {
+			many.put("status" + i, "Status " + i);
+		}
+
+		StatusRegistry perfect = new StatusRegistry(many, 0);
+		for (Map.Entry<String,String> entry : many.entrySet()) {
+			assertEquals(perfect.lookup(entry.getKey().toUpperCase()).getName(), entry.getValue(), "Lookup " + entry.getKey());
+			assertEquals(perfect.lookup(entry.getValue()).getStyle(), entry.getKey(), "Lookup " + entry.getValue());
+		}
+		assertNull(perfect.lookup("status100"), "Unknown status");
+	}
+
+	@Test
+	public void testDateConverter() throws Exception {
+		String[] dates = {
+			"2021-02-05T00:00:00.000Z",
+			"2021-02-05T00:00:00.000+01:00",
+			"2020-02-29T23:59:59.999-0530",
+			"1999-12-31T12:30:45.123+14:00"
+		};
+
+		for (String date : dates) {
+			assertEquals(DateConverter.parseMillis(date), ISO_DATE_TIME.parseMillis(date), "Parsed " + date);
+			assertEquals(decodeIsoDate(date), new Date(ISO_DATE_TIME.parseMillis(date)), "Decoded " + date);
+			assertEquals(encodeIsoDate(decodeIsoDate(date)), ISO_DATE_TIME.print(ISO_DATE_TIME.parseMillis(date)), "Encoded " + date);
+		}
+
+		String[] others = {
+			"2021-02-05",
+			"2021-02-05T00:00:00Z",
+			"2021-02-30T00:00:00.000Z",
+			"2021-02-05T24:00:00.000Z",
+			"2021-02-05T00:00:00.000+1:00",
+			"2021-02-05T00:00:00.000 01:00",
+			"2021-02-05 00:00:00.000+01:00"
+		};
+
+		for (String other : others) {
+			assertEquals(DateConverter.parseMillis(other), Long.MIN_VALUE, "Not parsed " + other);
+		}
+
+		assertEquals(decodeIsoDate("2021-02-05T00:00:00.5Z"), new Date(ISO_DATE_TIME.parseMillis("2021-02-05T00:00:00.5Z")), "Decoded via generic parser");
+		assertNull(decodeIsoDate(" "), "Blank date");
+		assertNull(encodeIsoDate(null), "Null date");
+
+		Date decoded = decodeIsoDate(dates[0]);
+		assertNotSame(decodeIsoDate(dates[0]), decoded, "Memorized dates are not shared");
+		assertSame(encodeIsoDate(decoded), encodeIsoDate(new Date(decoded.getTime())), "Memorized date string");
+
+		try {
+			decodeIsoDate("Not a date");
+			fail("Invalid date must not be decoded");
+		} catch (IllegalArgumentException ex) {
+			// Expected
+		}
+
+		assertEquals(DateConverter.parseDay("2021-02-05"), LocalDate.of(2021, 2, 5), "Parsed ISO day");
+		assertEquals(DateConverter.parseDay("2020-02-29"), LocalDate.of(2020, 2, 29), "Parsed leap day");
+
+		for (String other : new String[] {"2021-02-30", "2021-13-01", "0021-08-15", "2021-2-05", "05/Feb/21", "05/02/2021", "2021-02-05T00:00:00.000Z"}) {
+			assertNull(DateConverter.parseDay(other), "Not parsed " + other);
+		}
+
+		for (String other : new String[] {"2021-02-05", "05/Feb/21", "05/02/2021"}) {
+			try {
+				decodeIsoDate(other);
+				fail("Day " + other + " is not an ISO date/time and must not be decoded");
+			} catch (IllegalArgumentException ex) {
+				// Expected, like by the generic parser
+			}
+		}
+	}
+
+	@Test
+	public void testDateConverterZones() throws Exception {
+		final AtomicInteger formatted = new AtomicInteger();
+		final ZoneId[]		zone 	  = {ZoneId.of("Europe/Berlin")};
+
+		DateConverter converter = new DateConverter(4, DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSXXX")) {
+			@Override
+			protected ZoneId getZone() {
+				return zone[0];
+			}
+
+			@Override
+			protected Date parse(String text) {
+				return Date.from(text.length() == 10 ? LocalDate.parse(text).atStartOfDay(zone[0]).toInstant() : OffsetDateTime.parse(text).toInstant());
+			}
+
+			@Override
+			protected String format(Date date) {
+				formatted.incrementAndGet();
+				return ISO_DATE_TIME.withZone(DateTimeZone.forID(zone[0].getId())).print(date.getTime());
+			}
+		};
+
+		Date berlin = converter.decode("2021-02-05");
+		assertEquals(berlin, Date.from(Instant.parse("2021-02-04T23:00:00Z")), "Day in Berlin");
+		assertEquals(converter.encode(berlin), "2021-02-05T00:00:00.000+01:00", "Encoded in Berlin");
+
+		int probes = formatted.get();
+		assertEquals(converter.encode(new Date(berlin.getTime() + 1)), "2021-02-05T00:00:00.001+01:00", "Encoded via formatter");
+		assertEquals(formatted.get(), probes, "Generic formatter not called");
+
+		zone[0] = ZoneId.of("America/New_York");
+		assertEquals(converter.decode("2021-02-05"), Date.from(Instant.parse("2021-02-05T05:00:00Z")), "Day in New York, not memorized from Berlin");
+		assertEquals(converter.encode(berlin), "2021-02-04T18:00:00.000-05:00", "Encoded in New York, not memorized from Berlin");
+
+		for (int day = 1; day <= 28; ++day) {
+			assertEquals(converter.decode(String.format("2021-02-%02d", day)), Date.from(Instant.parse(String.format("2021-02-%02dT05:00:00Z", day))), "Day " + day);
+			assertEquals(converter.decode("2021-02-05"), Date.from(Instant.parse("2021-02-05T05:00:00Z")), "Recently used day " + day);
+		}
+
+		DateConverter generic = new DateConverter(4, DateTimeFormatter.ofPattern("uuuu-MM-dd")) {
+			@Override
+			protected Date parse(String text) {
+				return Date.from(OffsetDateTime.parse(text).toInstant());
+			}
+
+			@Override
+			protected String format(Date date) {
+				return ISO_DATE_TIME.print(date.getTime());
+			}
+		};
+
+		assertEquals(generic.encode(berlin), ISO_DATE_TIME.print(berlin.getTime()), "Formatter differs from generic formatter, so not used");
+		assertEquals(generic.decode("2021-02-05T00:00:00.000+01:00"), berlin, "Date/time accepted by generic parser");
+
+		try {
+			generic.decode("2021-02-05");
+			fail("Day rejected by the generic parser must not be decoded");
+		} catch (DateTimeParseException ex) {
+			// Expected
+		}
+	}
+
 	@Test
 	public void testWrapUnwrapAndPrepareChecklist() throws Exception {
 		Date	   tomorrow  = new Date(getToday(1).getTime());
@@ -239,6 +451,106 @@ public class ChecklistPluginNGTests  {
 		assertEquals(item__.get(END_DATE), decodedDate, "Prepared checklist item end date");
 	}
 
+	@Test
+	public void testBodyFormats() throws Exception {
+		ArrayNode  checklist = jsonMapper.createArrayNode();
+		ObjectNode item      = createChecklistItem(Integer.valueOf(1), "Do something", "Example\nchecklist item", "blocked", new Date(getToday(1).getTime()), true, false, true, false);
+
+		item.put("custom", "Unknown attributes are kept");
+		checklist.add(item);
+		checklist.add("Not an item");
+
+		String v1 = PLUGIN_HEADER + BODY.toPrettyJSONString(checklist) + PLUGIN_FOOTER;
+		assertEquals(getFormat(v1), Format.V1, "V1 format");
+		assertEquals(unwrapChecklist(v1), checklist, "Unwrapped V1 checklist");
+
+		Format format = getBodyFormat();
+		try {
+			assertEquals(format, Format.V1, "Default body format");
+			assertEquals(wrapChecklist(checklist), v1, "Default body format is V1");
+
+			setBodyFormat(Format.V2);
+
+			String v2 = wrapChecklist(checklist);
+			assertTrue(v2.startsWith(PLUGIN_HEADER_V2), "V2 header");
+			assertEquals(getFormat(v2), Format.V2, "V2 format");
+			assertFalse(v2.substring(PLUGIN_HEADER_V2.length(), v2.length() - PLUGIN_FOOTER.length()).contains("\n"), "V2 body is minified");
+			assertTrue(v2.length() < v1.length(), "V2 is more compact than V1");
+			assertEquals(unwrapChecklist(v2), checklist, "Unwrapped V2 checklist");
+			assertEquals(wrapChecklist(unwrapChecklist(v1)), v2, "V1 is upgraded to V2 when rewritten");
+
+			setBodyFormat(Format.V2_SHORT);
+
+			String v2Short = wrapChecklist(checklist);
+			assertTrue(v2Short.startsWith(PLUGIN_HEADER_V2_SHORT), "V2 header with short keys");
+			assertEquals(getFormat(v2Short), Format.V2_SHORT, "V2 format with short keys");
+			assertTrue(v2Short.contains("\"n\":\"Do something\""), "Short name key");
+			assertTrue(v2Short.contains("\"custom\":"), "Unknown keys are not shortened");
+			assertTrue(v2Short.length() < v2.length(), "Short keys are more compact");
+			assertEquals(unwrapChecklist(v2Short), checklist, "Unwrapped V2 checklist with short keys");
+
+			setBodyFormat(Format.V2);
+			assertEquals(wrapChecklist(unwrapChecklist(v2Short)), v2, "V2 with short keys is rewritten as V2");
+
+			setBodyFormat(null);
+			assertEquals(getBodyFormat(), Format.V1, "Reset body format");
+			assertEquals(wrapChecklist(unwrapChecklist(v2)), v1, "V2 is rewritten as V1");
+		} finally {
+			setBodyFormat(format);
+		}
+
+		Map<String,Object> params = new HashMap<String,Object>();
+		assertEquals(Format.of(params), Format.V1, "Plugin without version");
+
+		params.put(VERSION, "2");
+		assertEquals(Format.of(params), Format.V2, "Plugin version 2");
+
+		params.put(KEYS, SHORT);
+		assertEquals(Format.of(params), Format.V2_SHORT, "Plugin version 2 with short keys");
+
+		assertEquals(Format.forName(" v2_short ", Format.V1), Format.V2_SHORT, "Configured format");
+		assertEquals(Format.forName("V3", Format.V1), Format.V1, "Unknown configured format");
+		assertEquals(Format.forName(null, Format.V1), Format.V1, "No configured format");
+
+		assertNull(getFormat("Not a checklist"), "No format");
+		assertNull(unwrapChecklist("Not a checklist"), "No checklist");
+	}
+
+	@Test
+	public void testLazyChecklist() throws Exception {
+		ArrayNode checklist = jsonMapper.createArrayNode();
+		checklist.add(createChecklistItem(Integer.valueOf(1), "Do [something], {now}", "With \"quotes\" and \\", "blocked", null, true, false, true, false));
+		checklist.add("Not an item, but [counted]");
+		checklist.add(jsonMapper.createArrayNode().add(1).add(2));
+		checklist.add(createChecklistItem(null, "Done", null, null, null, false, false, true, true));
+
+		String[] markups = {
+			null,
+			"Not a checklist",
+			PLUGIN_HEADER + "No footer",
+			PLUGIN_HEADER + PLUGIN_FOOTER,
+			PLUGIN_HEADER + "[ ]" + PLUGIN_FOOTER,
+			PLUGIN_HEADER + "{\"name\": \"Not a checklist\"}" + PLUGIN_FOOTER,
+			PLUGIN_HEADER + BODY.toPrettyJSONString(checklist) + PLUGIN_FOOTER,
+			wrapChecklist(jsonMapper.createArrayNode()),
+			wrapChecklist(checklist)
+		};
+
+		for (String markup : markups) {
+			LazyChecklist lazy  = new LazyChecklist(markup);
+			JsonNode	  items = unwrapChecklist(markup);
+			int 		  size  = (items != null && items.isArray() ? items.size() : 0);
+
+			assertSame(lazy.getMarkup(), markup, "Lazy checklist markup");
+			assertEquals(lazy.hasBody(), getFormat(markup) != null && markup.contains(PLUGIN_FOOTER), "Lazy checklist has body " + markup);
+			assertEquals(lazy.size(), size, "Lazy checklist size of " + markup);
+			assertEquals(lazy.isEmpty(), size == 0, "Lazy checklist is empty " + markup);
+			assertEquals(lazy.fingerprint(), ChecklistPlugin.fingerprint(markup), "Lazy checklist fingerprint of " + markup);
+			assertEquals(lazy.getItems(), items, "Lazy checklist items of " + markup);
+			assertSame(lazy.getItems(), lazy.getItems(), "Lazy checklist items are parsed once");
+		}
+	}
+
 	@Test(dependsOnMethods = "testWrapUnwrapAndPrepareChecklist")
 	public void testChecklistHtmlRendering() throws Exception {
 		CBPaths.getInstance().setCbInstallDir(".");